@@ -1,6 +1,7 @@
 import functions.*;
 import functions.basic.*;
-import java.util.concurrent.Semaphore;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import threads.*;
 
 public class Main {
@@ -9,6 +10,9 @@ public class Main {
         
         System.out.println("\n--- Задание 1: Тестирование численного интегрирования экспоненты ---");
         testIntegration();
+
+        System.out.println("\n--- Проверка кубической интерполяции после setPoint ---");
+        testSetPointInterpolation();
         
         //System.out.println("\n--- Задание 2: Последовательная версия программы ---");
         //nonThread();
@@ -16,8 +20,11 @@ public class Main {
         //System.out.println("\n--- Задание 3: Простая многопоточная версия с синхронизацией ---");
         //simpleThreads();
         
-        System.out.println("\n--- Задание 4: Усовершенствованная версия с семафорами ---");
+        System.out.println("\n--- Задание 4: Конвейер с очередью заданий и несколькими интеграторами ---");
         complicatedThreads();
+        
+        System.out.println("\n--- Задание 5: Планировщик с учётом стоимости заданий ---");
+        scheduledThreads();
     }
 
     // Задание 1: Тестирование интегрирования
@@ -45,11 +52,50 @@ public class Main {
                     break;
                 }
             }  
+            
+            // Адаптивный метод Симпсона достигает той же точности за несколько десятков вычислений
+            IntegrationResult adaptive = Functions.integrateAdaptive(exp, 0, 1, 1e-8);
+            System.out.printf("   Адаптивный метод: результат = %.10f, ошибка = %.10f, оценка ошибки = %.2e, вычислений функции: %d%n",
+                adaptive.getValue(), Math.abs(adaptive.getValue() - theoretical), 
+                adaptive.getErrorEstimate(), adaptive.getEvaluations());
         } catch (Exception e) {
             System.out.println("Ошибка при тестировании интегрирования: " + e.getMessage());
         }
     }
     
+    // setPoint должен давать ту же функцию, что таблица, заново построенная по тем же точкам
+    private static void testSetPointInterpolation() {
+        double[] ys = {0, 1, 0, 1, 0, 1, 0};
+        FunctionPoint[] points = new FunctionPoint[ys.length];
+        for (int i = 0; i < ys.length; i++) {
+            points[i] = new FunctionPoint(i, ys[i]);
+        }
+        FunctionPoint changed = new FunctionPoint(3.2, 5);
+
+        InterpolationMode[] modes = {InterpolationMode.NATURAL_SPLINE, InterpolationMode.AKIMA, InterpolationMode.PCHIP};
+        for (InterpolationMode mode : modes) {
+            try {
+                PrimitiveArrayTabulatedFunction edited = new PrimitiveArrayTabulatedFunction(points);
+                edited.setInterpolation(mode);
+                edited.setPoint(3, changed);
+
+                FunctionPoint[] rebuiltPoints = points.clone();
+                rebuiltPoints[3] = changed;
+                PrimitiveArrayTabulatedFunction rebuilt = new PrimitiveArrayTabulatedFunction(rebuiltPoints);
+                rebuilt.setInterpolation(mode);
+
+                double maxDiff = 0;
+                for (double x = 0; x <= 6; x += 0.125) {
+                    maxDiff = Math.max(maxDiff, Math.abs(edited.getFunctionValue(x) - rebuilt.getFunctionValue(x)));
+                }
+                System.out.printf("   %-14s: расхождение с пересобранной таблицей = %.2e%s%n",
+                    mode, maxDiff, maxDiff < 1e-12 ? "" : "  ОШИБКА");
+            } catch (InappropriateFunctionPointException e) {
+                System.out.println("Ошибка при проверке интерполяции: " + e.getMessage());
+            }
+        }
+    }
+
     // Задание 2: Последовательная версия
     private static void nonThread() {
         System.out.println("\nПоследовательная версия программы (без потоков):");
@@ -136,37 +182,59 @@ public class Main {
         System.out.println("Примечание: Из-за синхронизации сообщения могут выводиться в разном порядке");
     }
     
-    // Задание 4: Усовершенствованная многопоточная версия
+    // Задание 4: Усовершенствованная многопоточная версия.
+    // Вместо одного слота Task с семафорами - конвейер с ограниченной очередью; вместо
+    // прерывания потоков через 50 мс - плавная остановка с выполнением всей очереди
     private static void complicatedThreads() {
-        System.out.println("\nУсовершенствованная многопоточная версия с семафорами:");
-        System.out.println("Используется семафор для более тонкой синхронизации");
+        int workers = Runtime.getRuntime().availableProcessors();
+        System.out.println("\nКонвейер производитель/потребитель вместо семафоров");
+        System.out.println("Ограниченная очередь на 16 заданий, интеграторов: " + workers);
         
-        Task task = new Task();
-        task.setTasksCount(100); // 100 заданий для демонстрации
-        Semaphore dataReady = new Semaphore(0);
-        Semaphore dataProcessed = new Semaphore(1);
-        
-        Generator generator = new Generator(task, dataReady, dataProcessed);
-        Integrator integrator = new Integrator(task, dataReady, dataProcessed);       
-        // Запуск потоков
-        generator.start();
-        integrator.start();
+        // Вывод выполняет отдельный поток, генератор и интеграторы только записывают числа в буфер
+        AsyncResultSink sink = new AsyncResultSink(System.out, 256);
+        TaskPipeline pipeline = new TaskPipeline(workers, 16, BackpressurePolicy.BLOCK, sink);
+        Random random = new Random();
         
         try {
-            // Ждем 50 миллисекунд
-            Thread.sleep(50);
-            // Прерываем потоки
-            generator.interrupt();
-            integrator.interrupt();   
-            // Ожидаем завершения потоков
-            generator.join();
-            integrator.join();
-            
+            for (int i = 0; i < 100; i++) {
+                IntegrationTask task = IntegrationTask.randomLogTask(random);
+                sink.submitted(task);
+                pipeline.submit(task);
+            }
+            // Вместо прерывания потоков: очередь дорабатывается до конца
+            pipeline.shutdown();
+            if (!pipeline.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("Не выполнено заданий: " + pipeline.shutdownNow().size());
+            }
         } catch (InterruptedException e) {
             System.out.println("Основной поток был прерван");
+            pipeline.shutdownNow();
         }
+        // Дожидаемся вывода всех накопленных сообщений
+        sink.close();
+        
+        System.out.println("\nКонвейер завершён, выполнено заданий: " + pipeline.getCompletedCount());
+    }
+    
+    // Задание 5: дорогие задания делятся на подзадачи в пуле fork-join
+    private static void scheduledThreads() {
+        int workers = Runtime.getRuntime().availableProcessors();
+        System.out.println("\nПул fork-join, потоков: " + workers);
+        
+        IntegrationScheduler scheduler = new IntegrationScheduler(workers);
+        ResultSink sink = new ConsoleResultSink();
+        Random random = new Random();
         
-        System.out.println("\nУсовершенствованная многопоточная версия завершена");
-        System.out.println("Семафор позволил более эффективно управлять доступом к общему ресурсу");
+        for (int i = 0; i < 20; i++) {
+            scheduler.submit(IntegrationTask.randomLogTask(random), sink);
+        }
+        // Очень мелкий шаг делит задание на подзадачи, нулевой шаг отклоняется сразу
+        scheduler.submit(new IntegrationTask(new Log(2), 1, 200, 1e-5), sink);
+        scheduler.submit(new IntegrationTask(new Log(2), 1, 200, 0), sink);
+        scheduler.close();
+        
+        System.out.println("\nПланировщик завершён, выполнено заданий: " + scheduler.getCompletedCount() +
+                           ", разделено: " + scheduler.getSplitCount() +
+                           ", отклонено: " + scheduler.getRejectedCount());
     }
-}
\ No newline at end of file
+}
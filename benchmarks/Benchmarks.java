@@ -0,0 +1,350 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+import functions.meta.FunctionCompiler;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import threads.*;
+
+// Набор микробенчмарков для отслеживания регрессий производительности.
+// Основной набор - JMH в модуле jmh (форки, прогрев, доверительные интервалы):
+//   mvn -B package && java -jar jmh/target/benchmarks.jar [регулярное выражение]
+// Этот класс - запасной быстрый прогон без Maven и JMH, для грубой оценки.
+// Запуск: java benchmarks.Benchmarks [фильтр] [максимальный размер таблицы]
+//   фильтр - подстрока имени группы (tabulated, integrate, meta, io, threads), по умолчанию все;
+//   максимальный размер - верхняя граница размеров 10, 10^3, ..., 10^7 (по умолчанию 10^5).
+// Каждый замер: WARMUP прогревочных и MEASURE измерительных итераций, выводится
+// среднее время на операцию. Результаты вычислений складываются в sink, чтобы JIT
+// не удалил их как мёртвый код
+public class Benchmarks {
+    private static final int WARMUP = 3;
+    private static final int MEASURE = 5;
+
+    private static volatile double sink;
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+        int maxSize = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        if ("tabulated".contains(filter)) tabulated(maxSize);
+        if ("integrate".contains(filter)) integrate();
+        if ("meta".contains(filter)) meta();
+        if ("io".contains(filter)) io(maxSize);
+        if ("threads".contains(filter)) threads();
+    }
+
+    // Замер: body выполняет ops операций за один вызов
+    private static void measure(String name, long ops, Body body) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            body.run();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE; i++) {
+            long start = System.nanoTime();
+            body.run();
+            total += System.nanoTime() - start;
+        }
+        double nsPerOp = (double) total / MEASURE / ops;
+        System.out.printf("%-60s %14.1f нс/оп %14.0f оп/с%n", name, nsPerOp, 1e9 / nsPerOp);
+    }
+
+    // Размеры 10, 10^3, 10^5, 10^7, не превышающие maxSize
+    private static int[] sizes(int maxSize) {
+        int count = 0;
+        for (int size = 10; size <= maxSize && size > 0; size *= 100) count++;
+        int[] result = new int[count];
+        for (int i = 0, size = 10; i < count; i++, size *= 100) result[i] = size;
+        return result;
+    }
+
+    private interface TableFactory {
+        TabulatedFunction create(double leftX, double rightX, double[] values);
+    }
+
+    private static void tabulated(int maxSize) throws Exception {
+        System.out.println("\n--- Табулированные функции ---");
+        String[] names = {"ArrayTabulatedFunction", "LinkedListTabulatedFunction", "PrimitiveArrayTabulatedFunction",
+                          "ChunkedTabulatedFunction"};
+        TableFactory[] factories = {
+            ArrayTabulatedFunction::new, LinkedListTabulatedFunction::new, PrimitiveArrayTabulatedFunction::new,
+            ChunkedTabulatedFunction::new
+        };
+
+        for (int size : sizes(maxSize)) {
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) values[i] = Math.sin(i);
+
+            for (int k = 0; k < factories.length; k++) {
+                TabulatedFunction f = factories[k].create(0, size, values);
+                Random random = new Random(1);
+                // Для связного списка операции O(n), поэтому их число уменьшается с размером
+                int ops = (k == 1) ? Math.max(10, 1_000_000 / size) : 100_000;
+                double[] xs = new double[ops];
+                for (int i = 0; i < ops; i++) xs[i] = random.nextDouble() * size;
+
+                measure(names[k] + ".getFunctionValue n=" + size, ops, () -> {
+                    double s = 0;
+                    for (double x : xs) s += f.getFunctionValue(x);
+                    sink = s;
+                });
+
+                // Вставка между узлами и удаление вставленной точки: размер таблицы не меняется
+                int updates = Math.min(ops, 1000);
+                measure(names[k] + ".addPoint+deletePoint n=" + size, updates, () -> {
+                    for (int i = 0; i < updates; i++) {
+                        int index = Math.min((int) xs[i], size - 2);
+                        double x = (f.getPointX(index) + f.getPointX(index + 1)) / 2;
+                        f.addPoint(new FunctionPoint(x, 0));
+                        f.deletePoint(index + 1);
+                    }
+                });
+            }
+        }
+
+        // Потоковое заполнение: упорядоченные точки по одной и порциями по 1024
+        int count = Math.max(maxSize, 2);
+        measure("ArrayTabulatedFunction.addPoint в конец n=" + count, count, () -> {
+            TabulatedFunction f = new ArrayTabulatedFunction(-2, -1, 2);
+            for (int i = 0; i < count; i++) f.addPoint(new FunctionPoint(i, i));
+            sink = f.getPointsCount();
+        });
+        measure("TabulatedFunctionBuilder.append n=" + count, count, () -> {
+            TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder();
+            for (int i = 0; i < count; i++) builder.append(i, i);
+            sink = builder.build().getPointsCount();
+        });
+        double[] chunkX = new double[1024];
+        double[] chunkY = new double[1024];
+        measure("TabulatedFunctionBuilder.merge (перемешанные порции) n=" + count, count, () -> {
+            TabulatedFunctionBuilder builder = new TabulatedFunctionBuilder();
+            Random random = new Random(1);
+            for (int from = 0; from < count; from += chunkX.length) {
+                int length = Math.min(chunkX.length, count - from);
+                for (int i = 0; i < length; i++) {
+                    int j = random.nextInt(i + 1);
+                    chunkX[i] = chunkX[j];
+                    chunkX[j] = from + i;
+                    chunkY[i] = i;
+                }
+                builder.merge(chunkX, chunkY, 0, length);
+            }
+            sink = builder.build().getPointsCount();
+        });
+
+        // Табулирование составной функции: последовательно и fork-join в примитивную таблицу
+        Function composite = Functions.sum(new Exp(), Functions.composition(new Sin(), new Cos()));
+        measure("TabulatedFunctions.tabulate n=" + count, count, () ->
+            sink = TabulatedFunctions.tabulate(composite, 0, 1, count).getPointsCount());
+        measure("TabulatedFunctions.tabulateParallel n=" + count, count, () ->
+            sink = TabulatedFunctions.tabulateParallel(composite, 0, 1, count).getPointsCount());
+    }
+
+    private static void integrate() throws Exception {
+        System.out.println("\n--- Интегрирование ---");
+        Function[] functions = {new Exp(), new Log(2), new Sin(), new Cos(), new Tan()};
+        String[] names = {"Exp", "Log", "Sin", "Cos", "Tan"};
+
+        for (int k = 0; k < functions.length; k++) {
+            Function f = functions[k];
+            // Отрезок [1, 1.5] лежит в области определения всех функций, включая tg и log
+            measure("Functions.integrate " + names[k] + " [1, 1.5] шаг 1e-6", 500_000, () ->
+                sink = Functions.integrate(f, 1, 1.5, 1e-6));
+            measure("Functions.integrateParallel " + names[k] + " [1, 1.5] шаг 1e-6", 500_000, () ->
+                sink = Functions.integrateParallel(f, 1, 1.5, 1e-6));
+            measure("Functions.integrateAdaptive " + names[k] + " [1, 1.5] tol 1e-10", 1, () ->
+                sink = Functions.integrateAdaptive(f, 1, 1.5, 1e-10).getValue());
+        }
+
+        // Много перекрывающихся окон над одним логарифмом, как у Integrator
+        Function log = new Log(2);
+        Random random = new Random(23);
+        int windows = 1000;
+        double[] lefts = new double[windows];
+        double[] rights = new double[windows];
+        for (int i = 0; i < windows; i++) {
+            lefts[i] = 1 + random.nextDouble() * 99;
+            rights[i] = lefts[i] + 1 + random.nextDouble() * 99;
+        }
+        measure("Functions.integrate Log " + windows + " окон шаг 1e-3", windows, () -> {
+            double s = 0;
+            for (int i = 0; i < windows; i++) s += Functions.integrate(log, lefts[i], rights[i], 1e-3);
+            sink = s;
+        });
+        measure("Functions.integrateBatch Log " + windows + " окон шаг 1e-3", windows, () ->
+            sink = Functions.integrateBatch(log, lefts, rights, 1e-3)[0]);
+
+        // Табулированная функция интегрируется точно по точкам; индекс отвечает за O(log n)
+        TabulatedFunction table = TabulatedFunctions.tabulateParallel(new Sin(), 0, 10, 100_000);
+        measure("Functions.integrate табулированная n=100000", 1, () ->
+            sink = Functions.integrate(table, 0.5, 9.5, 1e-6));
+        CumulativeIntegral index = new CumulativeIntegral(table);
+        measure("CumulativeIntegral.integrate n=100000", 100_000, () -> {
+            double s = 0;
+            for (int i = 0; i < 100_000; i++) s += index.integrate(i * 1e-5, 10 - i * 1e-5);
+            sink = s;
+        });
+    }
+
+    private static void runSemaphorePair(int tasks, ResultSink results) throws InterruptedException {
+        Task task = new Task();
+        task.setTasksCount(tasks);
+        Semaphore dataReady = new Semaphore(0);
+        Semaphore dataProcessed = new Semaphore(1);
+        Generator generator = new Generator(task, dataReady, dataProcessed, results);
+        Integrator integrator = new Integrator(task, dataReady, dataProcessed, results);
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+    }
+
+    // Дерево глубины depth: уровни по очереди добавляют Sum, Mult со Shift, Power со Scale.
+    // Используется и в JMH-наборе, чтобы оба прогона мерили одни и те же деревья
+    public static Function tree(int depth) {
+        if (depth == 0) return new Sin();
+        Function sub = tree(depth - 1);
+        switch (depth % 3) {
+            case 0: return Functions.sum(sub, new Cos());
+            case 1: return Functions.mult(Functions.shift(sub, 0.1, 0.2), new Exp());
+            default: return Functions.power(Functions.scale(sub, 2, 0.5), 2);
+        }
+    }
+
+    private static void meta() throws Exception {
+        System.out.println("\n--- Деревья functions.meta ---");
+        int ops = 1_000_000;
+        double[] xs = new double[ops];
+        double[] out = new double[ops];
+        for (int i = 0; i < ops; i++) xs[i] = i * 1e-6;
+
+        for (int depth = 1; depth <= 16; depth *= 2) {
+            Function f = tree(depth);
+            Function compiled = FunctionCompiler.compile(f);
+
+            measure("getFunctionValue глубина " + depth, ops, () -> {
+                double s = 0;
+                for (double x : xs) s += f.getFunctionValue(x);
+                sink = s;
+            });
+            measure("evaluate (блоками) глубина " + depth, ops, () -> {
+                for (int from = 0; from < ops; from += 1024) {
+                    f.evaluate(xs, out, from, Math.min(ops, from + 1024));
+                }
+                sink = out[ops - 1];
+            });
+            measure("FunctionCompiler.compile глубина " + depth, ops, () -> {
+                double s = 0;
+                for (double x : xs) s += compiled.getFunctionValue(x);
+                sink = s;
+            });
+        }
+
+        // Повторные аргументы: 4096 различных x, обёртка Cached на 8192 значения
+        Function deep = tree(16);
+        Function cached = Functions.cached(deep, 8192);
+        measure("getFunctionValue (повторные x) глубина 16", ops, () -> {
+            double s = 0;
+            for (int i = 0; i < ops; i++) s += deep.getFunctionValue(xs[i & 4095]);
+            sink = s;
+        });
+        measure("Cached.getFunctionValue (повторные x) глубина 16", ops, () -> {
+            double s = 0;
+            for (int i = 0; i < ops; i++) s += cached.getFunctionValue(xs[i & 4095]);
+            sink = s;
+        });
+    }
+
+    private static void io(int maxSize) throws Exception {
+        System.out.println("\n--- Ввод/вывод TabulatedFunctions ---");
+        for (int size : sizes(maxSize)) {
+            TabulatedFunction f = TabulatedFunctions.tabulate(new Sin(), 0, 10, Math.max(size, 2));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            TabulatedFunctions.outputTabulatedFunction(f, bytes);
+            byte[] binary = bytes.toByteArray();
+            StringWriter text = new StringWriter();
+            TabulatedFunctions.writeTabulatedFunction(f, text);
+            String string = text.toString();
+
+            measure("outputTabulatedFunction n=" + size, size, () -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length);
+                TabulatedFunctions.outputTabulatedFunction(f, out);
+                sink = out.size();
+            });
+            measure("inputTabulatedFunction n=" + size, size, () ->
+                sink = TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary)).getPointsCount());
+            measure("writeTabulatedFunction n=" + size, size, () -> {
+                StringWriter out = new StringWriter(string.length());
+                TabulatedFunctions.writeTabulatedFunction(f, out);
+                sink = out.getBuffer().length();
+            });
+            measure("readTabulatedFunction n=" + size, size, () ->
+                sink = TabulatedFunctions.readTabulatedFunction(new StringReader(string)).getPointsCount());
+        }
+    }
+
+    private static void threads() throws Exception {
+        System.out.println("\n--- Потоки генератора и интеграторов ---");
+        int tasks = 200;
+        PrintStream console = System.out;
+        PrintStream silent = new PrintStream(OutputStream.nullOutputStream());
+
+        // Консольный вывод потоков подавляется, чтобы измерялась сама обработка
+        measure("Generator/Integrator (семафоры), заданий " + tasks, tasks, () -> {
+            System.setOut(silent);
+            try {
+                Task task = new Task();
+                task.setTasksCount(tasks);
+                Semaphore dataReady = new Semaphore(0);
+                Semaphore dataProcessed = new Semaphore(1);
+                Generator generator = new Generator(task, dataReady, dataProcessed);
+                Integrator integrator = new Integrator(task, dataReady, dataProcessed);
+                generator.start();
+                integrator.start();
+                generator.join();
+                integrator.join();
+            } finally {
+                System.setOut(console);
+            }
+        });
+
+        // Те же потоки с выводом в приёмник: только счётчики и асинхронная запись в пустой поток
+        measure("Generator/Integrator, MetricsResultSink, заданий " + tasks, tasks, () ->
+            runSemaphorePair(tasks, new MetricsResultSink()));
+        measure("Generator/Integrator, AsyncResultSink, заданий " + tasks, tasks, () -> {
+            try (AsyncResultSink async = new AsyncResultSink(silent, 1024)) {
+                runSemaphorePair(tasks, async);
+            }
+        });
+
+        int workers = Runtime.getRuntime().availableProcessors();
+        measure("TaskPipeline, интеграторов " + workers + ", заданий " + tasks, tasks, () -> {
+            TaskPipeline pipeline = new TaskPipeline(workers, 64, BackpressurePolicy.BLOCK, result -> sink = result.getValue());
+            Random random = new Random(1);
+            for (int i = 0; i < tasks; i++) {
+                pipeline.submit(IntegrationTask.randomLogTask(random));
+            }
+            pipeline.shutdown();
+            pipeline.awaitTermination(10, TimeUnit.MINUTES);
+        });
+
+        measure("IntegrationScheduler, потоков " + workers + ", заданий " + tasks, tasks, () -> {
+            List<IntegrationTask> batch = new ArrayList<>();
+            Random random = new Random(1);
+            for (int i = 0; i < tasks; i++) {
+                batch.add(IntegrationTask.randomLogTask(random));
+            }
+            try (IntegrationScheduler scheduler = new IntegrationScheduler(workers)) {
+                sink = scheduler.integrateAll(batch).get(0).getValue();
+            }
+        });
+    }
+}
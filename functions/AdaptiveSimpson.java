@@ -0,0 +1,114 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Глобальный адаптивный метод Симпсона: на каждом шаге делится отрезок
+// с наибольшей оценкой погрешности, пока сумма оценок не станет меньше
+// допуска или не будет исчерпан лимит вычислений функции
+class AdaptiveSimpson {
+    private final Function f;
+    private final int maxEvaluations;
+    private int evaluations;
+    private boolean nan;
+    
+    // Отрезок [a, b] с пятью вычисленными значениями в точках a, a+h/4, a+h/2, a+3h/4, b
+    private static class Segment {
+        final double a, b;
+        final double fa, fl, fm, fr, fb;
+        final double coarse;  // Формула Симпсона на всём отрезке
+        final double value;   // Уточнённое значение (две половины + поправка Ричардсона)
+        final double error;
+        
+        Segment(double a, double b, double fa, double fl, double fm, double fr, double fb, double coarse) {
+            this.a = a;
+            this.b = b;
+            this.fa = fa;
+            this.fl = fl;
+            this.fm = fm;
+            this.fr = fr;
+            this.fb = fb;
+            this.coarse = coarse;
+            double h = (b - a) / 12.0;
+            double fine = h * (fa + 4 * fl + fm) + h * (fm + 4 * fr + fb);
+            this.value = fine + (fine - coarse) / 15.0;
+            this.error = Math.abs(fine - coarse) / 15.0;
+        }
+    }
+    
+    AdaptiveSimpson(Function f, int maxEvaluations) {
+        this.f = f;
+        this.maxEvaluations = maxEvaluations;
+    }
+    
+    IntegrationResult integrate(double left, double right, double tolerance) {
+        double middle = (left + right) / 2.0;
+        double fa = evaluate(left);
+        double fm = evaluate(middle);
+        double fb = evaluate(right);
+        Segment root = createSegment(left, right, fa, fm, fb, (right - left) / 6.0 * (fa + 4 * fm + fb));
+        
+        if (nan) {
+            return new IntegrationResult(Double.NaN, Double.NaN, evaluations, false);
+        }
+        
+        PriorityQueue<Segment> queue = new PriorityQueue<>((s1, s2) -> Double.compare(s2.error, s1.error));
+        List<Segment> finished = new ArrayList<>();
+        queue.add(root);
+        double totalError = root.error;
+        
+        // Каждое деление стоит четырёх новых вычислений функции
+        while (totalError > tolerance && evaluations + 4 <= maxEvaluations && !queue.isEmpty()) {
+            Segment s = queue.poll();
+            double m = (s.a + s.b) / 2.0;
+            
+            // Отрезок слишком мал для деления в арифметике double
+            if (!(s.a < (s.a + m) / 2.0 && (m + s.b) / 2.0 < s.b)) {
+                finished.add(s);
+                continue;
+            }
+            
+            double h = (s.b - s.a) / 12.0;
+            Segment leftPart = createSegment(s.a, m, s.fa, s.fl, s.fm, h * (s.fa + 4 * s.fl + s.fm));
+            Segment rightPart = createSegment(m, s.b, s.fm, s.fr, s.fb, h * (s.fm + 4 * s.fr + s.fb));
+            
+            if (nan) {
+                return new IntegrationResult(Double.NaN, Double.NaN, evaluations, false);
+            }
+            
+            queue.add(leftPart);
+            queue.add(rightPart);
+            totalError += leftPart.error + rightPart.error - s.error;
+        }
+        
+        finished.addAll(queue);
+        
+        // Компенсированное суммирование значений и оценок погрешности отрезков
+        double[] value = new double[2];
+        double[] error = new double[2];
+        for (Segment s : finished) {
+            TrapezoidTask.add(value, s.value);
+            TrapezoidTask.add(error, s.error);
+        }
+        double errorEstimate = TrapezoidTask.total(error);
+        
+        return new IntegrationResult(TrapezoidTask.total(value), errorEstimate, evaluations, 
+                                     errorEstimate <= tolerance);
+    }
+    
+    private Segment createSegment(double a, double b, double fa, double fm, double fb, double coarse) {
+        double fl = evaluate(a + (b - a) / 4.0);
+        double fr = evaluate(b - (b - a) / 4.0);
+        return new Segment(a, b, fa, fl, fm, fr, fb, coarse);
+    }
+    
+    private double evaluate(double x) {
+        evaluations++;
+        double value = f.getFunctionValue(x);
+        if (Double.isNaN(value)) {
+            nan = true;
+        }
+        return value;
+    }
+}
@@ -1,9 +1,12 @@
 package functions;
 import java.io.*;
+import java.util.Arrays;
 
 public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable {
     private FunctionPoint[] points;
     private int pointsCount;
+    // Шаг равномерной сетки или NaN, если точки расположены неравномерно
+    private double uniformStep = Double.NaN;
 
     public ArrayTabulatedFunction() {
         // Инициализация по умолчанию
@@ -27,6 +30,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             double y = in.readDouble();
             points[i] = new FunctionPoint(x, y);
         }
+        updateUniformStep();
     }
 
     public ArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
@@ -41,6 +45,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             double x = leftX + i * step;
             points[i] = new FunctionPoint(x, 0);
         }
+        this.uniformStep = step;
     }
 
     public ArrayTabulatedFunction(double leftX, double rightX, double[] values) {
@@ -55,6 +60,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             double x = leftX + i * step;
             points[i] = new FunctionPoint(x, values[i]);
         }
+        this.uniformStep = step;
     }
 
     public ArrayTabulatedFunction(FunctionPoint[] pointsArray) {
@@ -74,6 +80,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         for (int i = 0; i < pointsArray.length; i++) {
             this.points[i] = new FunctionPoint(pointsArray[i]);
         }
+        updateUniformStep();
     }
 
     @Override
@@ -87,19 +94,61 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         if (x < getLeftDomainBorder() || x > getRightDomainBorder()) 
             return Double.NaN;
 
-        for (int i = 0; i < pointsCount; i++) {
-            if (Math.abs(points[i].getX() - x) < 1e-9) 
-                return points[i].getY();
+        int i = findSegment(x);
+        double x1 = points[i].getX(), y1 = points[i].getY();
+        double x2 = points[i + 1].getX(), y2 = points[i + 1].getY();
+
+        // Совпадение с узлом проверяется только для концов найденного отрезка
+        if (Math.abs(x1 - x) < 1e-9) 
+            return y1;
+        if (Math.abs(x2 - x) < 1e-9) 
+            return y2;
+
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // Поиск индекса i такого, что points[i].x <= x <= points[i + 1].x
+    // (x должен лежать в области определения)
+    private int findSegment(double x) {
+        int last = pointsCount - 2;
+
+        // Для равномерной сетки индекс вычисляется напрямую за O(1)
+        if (!Double.isNaN(uniformStep)) {
+            int i = (int) ((x - points[0].getX()) / uniformStep);
+            if (i > last) i = last;
+            if (i < 0) i = 0;
+            // Поправка на ошибку округления при делении
+            if (x < points[i].getX() && i > 0) i--;
+            else if (x > points[i + 1].getX() && i < last) i++;
+            if (points[i].getX() <= x && x <= points[i + 1].getX())
+                return i;
         }
 
-        for (int i = 0; i < pointsCount - 1; i++) {
-            if (x >= points[i].getX() && x <= points[i + 1].getX()) {
-                double x1 = points[i].getX(), y1 = points[i].getY();
-                double x2 = points[i + 1].getX(), y2 = points[i + 1].getY();
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+        // Двоичный поиск за O(log n)
+        int low = 0, high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid].getX() <= x) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    // Определение, является ли сетка равномерной (пересчёт за O(n))
+    private void updateUniformStep() {
+        if (pointsCount < 2) {
+            uniformStep = Double.NaN;
+            return;
+        }
+        double step = (points[pointsCount - 1].getX() - points[0].getX()) / (pointsCount - 1);
+        for (int i = 1; i < pointsCount; i++) {
+            double expected = points[0].getX() + i * step;
+            if (Math.abs(points[i].getX() - expected) > 1e-9 * Math.max(1.0, Math.abs(expected))) {
+                uniformStep = Double.NaN;
+                return;
             }
         }
-        return Double.NaN;
+        uniformStep = step;
     }
 
     @Override
@@ -120,6 +169,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new InappropriateFunctionPointException("Invalid X order");
         }
         
+        if (point.getX() != points[index].getX())
+            uniformStep = Double.NaN;
         points[index] = new FunctionPoint(point);
     }
 
@@ -138,6 +189,8 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             throw new InappropriateFunctionPointException("Invalid X order");
         }
         
+        if (x != points[index].getX())
+            uniformStep = Double.NaN;
         points[index].setX(x);
     }
 
@@ -164,27 +217,43 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         
         points[pointsCount - 1] = null;
         pointsCount--;
+        updateUniformStep();
     }
 
     @Override
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        int i = 0;
-        while (i < pointsCount && points[i].getX() < point.getX()) i++;
-        
-        if (i < pointsCount && Math.abs(points[i].getX() - point.getX()) < 1e-9)
+        double x = point.getX();
+
+        // Добавление в конец - частый случай при потоковом заполнении, поиск не нужен
+        int i = pointsCount;
+        if (pointsCount == 0 || x <= points[pointsCount - 1].getX()) {
+            // Позиция вставки - первый индекс с x[i] >= x
+            int low = 0, high = pointsCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (points[mid].getX() < x) low = mid + 1;
+                else high = mid;
+            }
+            i = low;
+        }
+
+        if (i < pointsCount && Math.abs(points[i].getX() - x) < 1e-9)
             throw new InappropriateFunctionPointException("Duplicate X coordinate");
-        
+
+        // Геометрический рост ёмкости: добавление N точек - O(N) копирований в сумме
         if (pointsCount == points.length) {
-            FunctionPoint[] newArray = new FunctionPoint[pointsCount + 10];
-            for (int j = 0; j < pointsCount; j++) newArray[j] = points[j];
-            points = newArray;
+            points = Arrays.copyOf(points, pointsCount + (pointsCount >> 1) + 10);
         }
-        
-        for (int j = pointsCount; j > i; j--) 
-            points[j] = points[j - 1];
-        
+
+        System.arraycopy(points, i, points, i + 1, pointsCount - i);
         points[i] = new FunctionPoint(point);
         pointsCount++;
+
+        if (i == pointsCount - 1 && pointsCount > 2) {
+            uniformStep = PrimitiveArrayTabulatedFunction.appendedStep(uniformStep, points[0].getX(), i, x);
+        } else {
+            updateUniformStep();
+        }
     }
 
     private void checkIndex(int index) {
@@ -0,0 +1,559 @@
+package functions;
+import java.io.*;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Табулированная функция на развёрнутом списке: точки хранятся блоками (chunk) в
+// примитивных массивах, поверх блоков - индекс минимальных x.
+// Поиск по x - двоичный поиск по индексу блоков и затем внутри блока, O(log n).
+// Вставка и удаление сдвигают значения только внутри одного блока (O(B), B - ёмкость блока);
+// переполненный блок делится пополам, полупустой сливается с соседом.
+// Номера первых точек блоков пересчитывают изменяющие методы (O(n / B) на изменение),
+// поэтому чтение ничего не меняет. Ёмкость блока держится около √n, так что изменение
+// стоит O(√n) с учётом редких перестроений
+public class ChunkedTabulatedFunction implements TabulatedFunction, Serializable {
+    // Наименьшая ёмкость блока (для небольших таблиц)
+    static final int MIN_CHUNK_CAPACITY = 64;
+
+    private static final class Chunk implements Serializable {
+        final double[] xs;
+        final double[] ys;
+        int size;
+
+        Chunk(int capacity) {
+            xs = new double[capacity];
+            ys = new double[capacity];
+        }
+
+        Chunk copy() {
+            Chunk copy = new Chunk(xs.length);
+            System.arraycopy(xs, 0, copy.xs, 0, size);
+            System.arraycopy(ys, 0, copy.ys, 0, size);
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    private Chunk[] chunks;
+    private int chunkCount;
+    private int size;
+    // Наибольшее число точек в блоке: степень двойки c, (c/2)^2 < size <= c^2 после построения.
+    // Блок меньше c/4 сливается с соседом, при построении блоки заполняются на 3/4
+    private int chunkCapacity = MIN_CHUNK_CAPACITY;
+
+    // Индекс блоков: минимальный x блока и номер его первой точки
+    private transient double[] chunkMin;
+    private transient int[] chunkStart;
+
+    // Конструктор по умолчанию (добавлен для clone())
+    public ChunkedTabulatedFunction() {
+        chunks = new Chunk[4];
+        chunkMin = new double[4];
+        chunkStart = new int[4];
+    }
+
+    public ChunkedTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[checkCount(pointsCount)]);
+    }
+
+    // Проверка числа точек до выделения массива значений
+    private static int checkCount(int pointsCount) {
+        if (pointsCount < 2)
+            throw new IllegalArgumentException("Неверная область определения или количество точек: левая граница должна быть меньше правой и точек должно быть не менее 2");
+        return pointsCount;
+    }
+
+    public ChunkedTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX || values.length < 2)
+            throw new IllegalArgumentException("Неверная область определения или количество точек: левая граница должна быть меньше правой и точек должно быть не менее 2");
+
+        double[] xValues = new double[values.length];
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++)
+            xValues[i] = leftX + i * step;
+        fill(xValues, values);
+    }
+
+    public ChunkedTabulatedFunction(FunctionPoint[] pointsArray) {
+        if (pointsArray.length < 2)
+            throw new IllegalArgumentException("Требуется не менее 2 точек");
+
+        double[] xValues = new double[pointsArray.length];
+        double[] yValues = new double[pointsArray.length];
+        for (int i = 0; i < pointsArray.length; i++) {
+            xValues[i] = pointsArray[i].getX();
+            yValues[i] = pointsArray[i].getY();
+        }
+        checkOrder(xValues);
+        fill(xValues, yValues);
+    }
+
+    public ChunkedTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length)
+            throw new IllegalArgumentException("Массивы X и Y должны быть одной длины");
+        if (xValues.length < 2)
+            throw new IllegalArgumentException("Требуется не менее 2 точек");
+
+        checkOrder(xValues);
+        fill(xValues, yValues);
+    }
+
+    private static void checkOrder(double[] xValues) {
+        for (int i = 0; i < xValues.length - 1; i++) {
+            if (xValues[i] >= xValues[i + 1])
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+        }
+    }
+
+    // Наименьшая степень двойки c (не меньше MIN_CHUNK_CAPACITY) с c^2 >= count
+    private static int capacityFor(int count) {
+        int capacity = MIN_CHUNK_CAPACITY;
+        while ((long) capacity * capacity < count)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    // Раскладка упорядоченных точек по блокам ёмкости около √n
+    private void fill(double[] xValues, double[] yValues) {
+        chunkCapacity = capacityFor(xValues.length);
+        int fill = chunkCapacity * 3 / 4;
+        int count = (xValues.length + fill - 1) / fill;
+        chunks = new Chunk[count + 4];
+        chunkMin = new double[count + 4];
+        chunkStart = new int[count + 4];
+        chunkCount = 0;
+        size = xValues.length;
+
+        for (int start = 0; start < size; start += fill) {
+            Chunk chunk = new Chunk(chunkCapacity);
+            chunk.size = Math.min(fill, size - start);
+            System.arraycopy(xValues, start, chunk.xs, 0, chunk.size);
+            System.arraycopy(yValues, start, chunk.ys, 0, chunk.size);
+            chunks[chunkCount] = chunk;
+            chunkMin[chunkCount] = chunk.xs[0];
+            chunkCount++;
+        }
+        updateStarts(0);
+    }
+
+    // Восстановление индекса блоков после десериализации
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        chunkMin = new double[chunks.length];
+        chunkStart = new int[chunks.length];
+        for (int c = 0; c < chunkCount; c++)
+            chunkMin[c] = chunks[c].xs[0];
+        updateStarts(0);
+    }
+
+    // Пересчёт номеров первых точек блоков from..chunkCount-1 после изменения размеров
+    private void updateStarts(int from) {
+        int start = (from == 0) ? 0 : chunkStart[from - 1] + chunks[from - 1].size;
+        for (int c = from; c < chunkCount; c++) {
+            chunkStart[c] = start;
+            start += chunks[c].size;
+        }
+    }
+
+    // Номер блока, содержащего точку index
+    private int chunkOf(int index) {
+        if (index < 0 || index >= size)
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index);
+
+        int low = 0, high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkStart[mid] <= index) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    // Номер последнего блока с минимальным x не больше x (0, если таких нет)
+    private int chunkAt(double x) {
+        int low = 0, high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkMin[mid] <= x) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    // Номер последней точки блока с x не больше x (-1, если таких нет)
+    private static int lastAtMost(Chunk chunk, double x) {
+        int low = -1, high = chunk.size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunk.xs[mid] <= x) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return chunks[0].xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        Chunk last = chunks[chunkCount - 1];
+        return last.xs[last.size - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder())
+            return Double.NaN;
+
+        int c = chunkAt(x);
+        Chunk chunk = chunks[c];
+        int j = lastAtMost(chunk, x);
+        double x1 = chunk.xs[j], y1 = chunk.ys[j];
+
+        if (Math.abs(x1 - x) < 1e-9)
+            return y1;
+
+        // Правый конец отрезка - следующая точка того же блока или первая точка следующего
+        double x2, y2;
+        if (j + 1 < chunk.size) {
+            x2 = chunk.xs[j + 1];
+            y2 = chunk.ys[j + 1];
+        } else {
+            x2 = chunks[c + 1].xs[0];
+            y2 = chunks[c + 1].ys[0];
+        }
+
+        if (Math.abs(x2 - x) < 1e-9)
+            return y2;
+
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return size;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        int c = chunkOf(index);
+        int j = index - chunkStart[c];
+        return new FunctionPoint(chunks[c].xs[j], chunks[c].ys[j]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        setPointY(index, point.getY());
+    }
+
+    @Override
+    public double getPointX(int index) {
+        int c = chunkOf(index);
+        return chunks[c].xs[index - chunkStart[c]];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        int c = chunkOf(index);
+        int j = index - chunkStart[c];
+
+        if ((index > 0 && x <= getPointX(index - 1)) ||
+            (index < size - 1 && x >= getPointX(index + 1))) {
+            throw new InappropriateFunctionPointException("Некорректный порядок значений X");
+        }
+
+        chunks[c].xs[j] = x;
+        if (j == 0)
+            chunkMin[c] = x;
+    }
+
+    @Override
+    public double getPointY(int index) {
+        int c = chunkOf(index);
+        return chunks[c].ys[index - chunkStart[c]];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        int c = chunkOf(index);
+        chunks[c].ys[index - chunkStart[c]] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        int c = chunkOf(index);
+        if (size < 3)
+            throw new IllegalStateException("Минимум 2 точки требуется");
+
+        Chunk chunk = chunks[c];
+        int j = index - chunkStart[c];
+        System.arraycopy(chunk.xs, j + 1, chunk.xs, j, chunk.size - j - 1);
+        System.arraycopy(chunk.ys, j + 1, chunk.ys, j, chunk.size - j - 1);
+        chunk.size--;
+        size--;
+
+        if (chunk.size == 0) {
+            removeChunk(c);
+        } else {
+            chunkMin[c] = chunk.xs[0];
+
+            // Полупустой блок сливается с соседом, если вместе они помещаются в один блок
+            if (chunk.size < chunkCapacity / 4) {
+                if (c + 1 < chunkCount && chunk.size + chunks[c + 1].size <= chunkCapacity) {
+                    mergeWithNext(c);
+                } else if (c > 0 && chunks[c - 1].size + chunk.size <= chunkCapacity) {
+                    mergeWithNext(c - 1);
+                }
+            }
+        }
+        // Слияние с предыдущим блоком меняет и его размер
+        updateStarts(Math.max(c - 1, 0));
+        rebalance();
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        int c = chunkAt(x);
+        Chunk chunk = chunks[c];
+        // Позиция вставки в блоке - первый индекс с x[j] >= x
+        int j = lastAtMost(chunk, x);
+        if (j < 0 || chunk.xs[j] < x)
+            j++;
+
+        // Первая точка с x не меньше вставляемого может быть началом следующего блока
+        double next = (j < chunk.size) ? chunk.xs[j]
+                    : (c + 1 < chunkCount) ? chunks[c + 1].xs[0] : Double.NaN;
+        if (Math.abs(next - x) < 1e-9)
+            throw new InappropriateFunctionPointException("Дублирование X координаты");
+
+        int first = c;
+        if (chunk.size == chunkCapacity) {
+            splitChunk(c);
+            if (j > chunk.size) {
+                j -= chunk.size;
+                c++;
+                chunk = chunks[c];
+            }
+        }
+
+        System.arraycopy(chunk.xs, j, chunk.xs, j + 1, chunk.size - j);
+        System.arraycopy(chunk.ys, j, chunk.ys, j + 1, chunk.size - j);
+        chunk.xs[j] = x;
+        chunk.ys[j] = point.getY();
+        chunk.size++;
+        size++;
+        chunkMin[c] = chunk.xs[0];
+        updateStarts(first);
+        rebalance();
+    }
+
+    // Перестроение с новой ёмкостью блоков, когда число точек вышло из ((c/4)^2, c^2].
+    // После построения до границ остаётся Θ(n) изменений, поэтому перестроение за O(n)
+    // добавляет к изменению O(1) в среднем
+    private void rebalance() {
+        long capacity = chunkCapacity;
+        if (size <= capacity * capacity &&
+            (capacity == MIN_CHUNK_CAPACITY || size > (capacity / 4) * (capacity / 4)))
+            return;
+
+        double[] xValues = new double[size];
+        double[] yValues = new double[size];
+        for (int c = 0, i = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            System.arraycopy(chunk.xs, 0, xValues, i, chunk.size);
+            System.arraycopy(chunk.ys, 0, yValues, i, chunk.size);
+            i += chunk.size;
+        }
+        fill(xValues, yValues);
+    }
+
+    // Деление блока c пополам: вторая половина становится блоком c + 1
+    private void splitChunk(int c) {
+        Chunk chunk = chunks[c];
+        Chunk second = new Chunk(chunkCapacity);
+        int half = chunk.size / 2;
+        second.size = chunk.size - half;
+        System.arraycopy(chunk.xs, half, second.xs, 0, second.size);
+        System.arraycopy(chunk.ys, half, second.ys, 0, second.size);
+        chunk.size = half;
+        insertChunk(c + 1, second);
+    }
+
+    private void insertChunk(int c, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            int capacity = chunkCount + (chunkCount >> 1) + 4;
+            chunks = Arrays.copyOf(chunks, capacity);
+            chunkMin = Arrays.copyOf(chunkMin, capacity);
+            chunkStart = Arrays.copyOf(chunkStart, capacity);
+        }
+        System.arraycopy(chunks, c, chunks, c + 1, chunkCount - c);
+        System.arraycopy(chunkMin, c, chunkMin, c + 1, chunkCount - c);
+        chunks[c] = chunk;
+        chunkMin[c] = chunk.xs[0];
+        chunkCount++;
+    }
+
+    private void removeChunk(int c) {
+        System.arraycopy(chunks, c + 1, chunks, c, chunkCount - c - 1);
+        System.arraycopy(chunkMin, c + 1, chunkMin, c, chunkCount - c - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    // Перенос точек блока c + 1 в конец блока c
+    private void mergeWithNext(int c) {
+        Chunk chunk = chunks[c];
+        Chunk next = chunks[c + 1];
+        System.arraycopy(next.xs, 0, chunk.xs, chunk.size, next.size);
+        System.arraycopy(next.ys, 0, chunk.ys, chunk.size, next.size);
+        chunk.size += next.size;
+        removeChunk(c + 1);
+    }
+
+    // Итератор, переходящий по блокам: полный обход за O(n)
+    @Override
+    public TabulatedPointIterator pointIterator(int index) {
+        if (index < 0 || index > size)
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index);
+
+        int startChunk = (index == size) ? chunkCount : chunkOf(index);
+        int startOffset = (index == size) ? 0 : index - chunkStart[startChunk];
+
+        return new TabulatedPointIterator() {
+            // Позиция точки справа от курсора: блок и смещение в нём
+            private int chunk = startChunk;
+            private int offset = startOffset;
+            private int cursor = index;
+            private double x, y;
+            private boolean moved;
+
+            @Override
+            public boolean hasNext() { return cursor < size; }
+
+            @Override
+            public boolean hasPrevious() { return cursor > 0; }
+
+            @Override
+            public int nextIndex() { return cursor; }
+
+            @Override
+            public int previousIndex() { return cursor - 1; }
+
+            @Override
+            public void next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                x = chunks[chunk].xs[offset];
+                y = chunks[chunk].ys[offset];
+                moved = true;
+                cursor++;
+                if (++offset == chunks[chunk].size) {
+                    chunk++;
+                    offset = 0;
+                }
+            }
+
+            @Override
+            public void previous() {
+                if (!hasPrevious())
+                    throw new NoSuchElementException();
+                if (offset == 0) {
+                    chunk--;
+                    offset = chunks[chunk].size;
+                }
+                offset--;
+                cursor--;
+                x = chunks[chunk].xs[offset];
+                y = chunks[chunk].ys[offset];
+                moved = true;
+            }
+
+            @Override
+            public double getX() {
+                if (!moved)
+                    throw new IllegalStateException();
+                return x;
+            }
+
+            @Override
+            public double getY() {
+                if (!moved)
+                    throw new IllegalStateException();
+                return y;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int c = 0, i = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int j = 0; j < chunk.size; j++, i++) {
+                if (i > 0) sb.append(", ");
+                sb.append("(").append(chunk.xs[j]).append("; ").append(chunk.ys[j]).append(")");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // Сравнение точек с той же точностью 1e-9, что и в FunctionPoint.equals
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o instanceof TabulatedFunction) {
+            TabulatedFunction other = (TabulatedFunction) o;
+
+            if (this.getPointsCount() != other.getPointsCount()) {
+                return false;
+            }
+
+            TabulatedPointIterator it = other.pointIterator();
+            for (int c = 0; c < chunkCount; c++) {
+                Chunk chunk = chunks[c];
+                for (int j = 0; j < chunk.size; j++) {
+                    it.next();
+                    if (Math.abs(chunk.xs[j] - it.getX()) >= 1e-9 || Math.abs(chunk.ys[j] - it.getY()) >= 1e-9) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Совпадает с ArrayTabulatedFunction.hashCode(): FunctionPoint.hashCode() = Objects.hash(x, y)
+    @Override
+    public int hashCode() {
+        int hash = size;
+        for (int c = 0; c < chunkCount; c++) {
+            Chunk chunk = chunks[c];
+            for (int j = 0; j < chunk.size; j++) {
+                hash ^= 31 * (31 + Double.hashCode(chunk.xs[j])) + Double.hashCode(chunk.ys[j]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public Object clone() {
+        ChunkedTabulatedFunction clone = new ChunkedTabulatedFunction();
+        clone.chunks = new Chunk[chunks.length];
+        clone.chunkMin = chunkMin.clone();
+        clone.chunkStart = chunkStart.clone();
+        for (int c = 0; c < chunkCount; c++)
+            clone.chunks[c] = chunks[c].copy();
+        clone.chunkCount = chunkCount;
+        clone.size = size;
+        clone.chunkCapacity = chunkCapacity;
+        return clone;
+    }
+}
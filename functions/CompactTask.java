@@ -0,0 +1,112 @@
+package functions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+// Задача fork-join для сжатия таблицы методом Рамера-Дугласа-Пекера с вертикальной
+// погрешностью: на отрезке [from, to] ищется точка, дальше всех (по y) отстоящая от хорды;
+// если отклонение больше tolerance, точка сохраняется и обе части обрабатываются отдельно.
+// Меньшая часть отдаётся в пул, большая обрабатывается в том же цикле, поэтому глубина
+// вложенности задач не больше log n. Части до THRESHOLD точек обрабатываются
+// последовательно с явным стеком. Результат не зависит от числа потоков
+class CompactTask extends RecursiveAction {
+    // Части не больше этого размера не разбиваются на подзадачи
+    static final int THRESHOLD = 1 << 14;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final boolean[] keep;
+    private final double tolerance;
+    private final int from;
+    private final int to;
+
+    CompactTask(double[] xs, double[] ys, boolean[] keep, double tolerance, int from, int to) {
+        this.xs = xs;
+        this.ys = ys;
+        this.keep = keep;
+        this.tolerance = tolerance;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        List<CompactTask> forked = new ArrayList<>();
+        int from = this.from, to = this.to;
+
+        while (to - from > THRESHOLD) {
+            int split = farthest(xs, ys, tolerance, from, to);
+            if (split < 0) {
+                break;
+            }
+            keep[split] = true;
+
+            CompactTask task;
+            if (split - from >= to - split) {
+                task = new CompactTask(xs, ys, keep, tolerance, split, to);
+                to = split;
+            } else {
+                task = new CompactTask(xs, ys, keep, tolerance, from, split);
+                from = split;
+            }
+            task.fork();
+            forked.add(task);
+        }
+
+        if (to - from <= THRESHOLD) {
+            sequential(from, to);
+        }
+        for (CompactTask task : forked) {
+            task.join();
+        }
+    }
+
+    // Последовательная обработка [from, to] с явным стеком вместо рекурсии
+    private void sequential(int from, int to) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+
+        while (top > 0) {
+            int right = stack[--top];
+            int left = stack[--top];
+            int split = farthest(xs, ys, tolerance, left, right);
+            if (split < 0) {
+                continue;
+            }
+            keep[split] = true;
+
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = left;
+            stack[top++] = split;
+            stack[top++] = split;
+            stack[top++] = right;
+        }
+    }
+
+    // Индекс внутренней точки с наибольшим отклонением от хорды [from, to], если оно
+    // больше tolerance, иначе -1. NaN считается бесконечным отклонением
+    static int farthest(double[] xs, double[] ys, double tolerance, int from, int to) {
+        double x1 = xs[from], y1 = ys[from];
+        double x2 = xs[to], y2 = ys[to];
+        double max = tolerance;
+        int index = -1;
+
+        for (int i = from + 1; i < to; i++) {
+            double error = Math.abs(ys[i] - (y1 + (y2 - y1) * (xs[i] - x1) / (x2 - x1)));
+            if (Double.isNaN(error)) {
+                error = Double.POSITIVE_INFINITY;
+            }
+            if (error > max) {
+                max = error;
+                index = i;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,43 @@
+package functions;
+
+// Результат сжатия табулированной функции: новая таблица, число точек до и после
+// и наибольшее отклонение исходных точек от новой ломаной
+public class CompactionResult {
+    private final PrimitiveArrayTabulatedFunction function;
+    private final int originalPointsCount;
+    private final double maxError;
+
+    public CompactionResult(PrimitiveArrayTabulatedFunction function, int originalPointsCount, double maxError) {
+        this.function = function;
+        this.originalPointsCount = originalPointsCount;
+        this.maxError = maxError;
+    }
+
+    public PrimitiveArrayTabulatedFunction getFunction() {
+        return function;
+    }
+
+    public int getOriginalPointsCount() {
+        return originalPointsCount;
+    }
+
+    public int getPointsCount() {
+        return function.getPointsCount();
+    }
+
+    // Во сколько раз уменьшилось число точек
+    public double getCompressionRatio() {
+        return (double) originalPointsCount / function.getPointsCount();
+    }
+
+    // Наибольшее отклонение по y исходной точки от линейной интерполяции по новой таблице
+    public double getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactionResult{points=" + originalPointsCount + " -> " + getPointsCount() +
+               ", ratio=" + getCompressionRatio() + ", maxError=" + maxError + "}";
+    }
+}
@@ -0,0 +1,290 @@
+package functions;
+
+// Потокобезопасная табулированная функция с копированием при записи.
+// Точки хранятся в неизменяемом снимке PrimitiveArrayTabulatedFunction, ссылка на который
+// volatile. Чтение берёт текущий снимок одним чтением ссылки и никогда не блокируется;
+// каждый вызов видит согласованный набор точек.
+// Изменения выполняются по одному (блокировка писателя): копия снимка изменяется и
+// публикуется целиком, поэтому каждое изменение стоит O(n). Несколько изменений
+// выгоднее объединять в update(), тогда копирование выполняется один раз.
+// Для нескольких чтений подряд над одним набором точек используется snapshot()
+public class ConcurrentTabulatedFunction implements TabulatedFunction {
+    // Пакет изменений, применяемый к закрытой копии таблицы
+    public interface Update {
+        void apply(TabulatedFunction table) throws InappropriateFunctionPointException;
+    }
+
+    private final Object writeLock = new Object();
+    // Опубликованный снимок никогда не изменяется
+    private volatile PrimitiveArrayTabulatedFunction snapshot;
+
+    private ConcurrentTabulatedFunction(PrimitiveArrayTabulatedFunction snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(new PrimitiveArrayTabulatedFunction(leftX, rightX, pointsCount));
+    }
+
+    public ConcurrentTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(new PrimitiveArrayTabulatedFunction(leftX, rightX, values));
+    }
+
+    public ConcurrentTabulatedFunction(FunctionPoint[] pointsArray) {
+        this(new PrimitiveArrayTabulatedFunction(pointsArray));
+    }
+
+    public ConcurrentTabulatedFunction(double[] xValues, double[] yValues) {
+        this(new PrimitiveArrayTabulatedFunction(xValues, yValues));
+    }
+
+    // Копия точек произвольной табулированной функции
+    public ConcurrentTabulatedFunction(TabulatedFunction function) {
+        this(copyOf(function));
+    }
+
+    private static PrimitiveArrayTabulatedFunction copyOf(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        TabulatedPointIterator it = function.pointIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            it.next();
+            xs[i] = it.getX();
+            ys[i] = it.getY();
+        }
+        return PrimitiveArrayTabulatedFunction.wrap(xs, ys, count);
+    }
+
+    // Таблица с точками для чтения: текущий снимок для ConcurrentTabulatedFunction
+    // и его представлений, сама функция для остальных
+    static TabulatedFunction unwrap(TabulatedFunction function) {
+        if (function instanceof ConcurrentTabulatedFunction) {
+            return ((ConcurrentTabulatedFunction) function).snapshot;
+        }
+        if (function instanceof Snapshot) {
+            return ((Snapshot) function).points;
+        }
+        return function;
+    }
+
+    // Неизменяемый снимок текущего набора точек
+    public TabulatedFunction snapshot() {
+        return new Snapshot(snapshot);
+    }
+
+    // Применение пакета изменений: все изменения становятся видны читателям одновременно.
+    // Если update бросает исключение, ничего не публикуется
+    public void update(Update update) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            update.apply(copy);
+            publish(copy);
+        }
+    }
+
+    // Публикация изменённой копии; её наклоны уже пересчитаны изменяющими методами,
+    // поэтому чтение снимка ничего в нём не меняет
+    private void publish(PrimitiveArrayTabulatedFunction copy) {
+        snapshot = copy;
+    }
+
+    public InterpolationMode getInterpolation() {
+        return snapshot.getInterpolation();
+    }
+
+    public void setInterpolation(InterpolationMode mode) {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.setInterpolation(mode);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return snapshot.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return snapshot.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return snapshot.getFunctionValue(x);
+    }
+
+    // Весь блок вычисляется по одному снимку
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        snapshot.evaluate(xs, out, from, to);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return snapshot.getPointsCount();
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        return snapshot.getPoint(index);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return snapshot.getPointX(index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return snapshot.getPointY(index);
+    }
+
+    // Итератор проходит по снимку, актуальному на момент создания
+    @Override
+    public TabulatedPointIterator pointIterator(int index) {
+        return snapshot.pointIterator(index);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.setPoint(index, point);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.setPointX(index, x);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.setPointY(index, y);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.deletePoint(index);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        synchronized (writeLock) {
+            PrimitiveArrayTabulatedFunction copy = (PrimitiveArrayTabulatedFunction) snapshot.clone();
+            copy.addPoint(point);
+            publish(copy);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return snapshot.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return snapshot.hashCode();
+    }
+
+    // Снимок неизменяем, поэтому копия начинает с того же снимка
+    @Override
+    public Object clone() {
+        return new ConcurrentTabulatedFunction(snapshot);
+    }
+
+    // Представление снимка только для чтения
+    private static final class Snapshot implements TabulatedFunction {
+        private final PrimitiveArrayTabulatedFunction points;
+
+        Snapshot(PrimitiveArrayTabulatedFunction points) {
+            this.points = points;
+        }
+
+        @Override
+        public double getLeftDomainBorder() { return points.getLeftDomainBorder(); }
+
+        @Override
+        public double getRightDomainBorder() { return points.getRightDomainBorder(); }
+
+        @Override
+        public double getFunctionValue(double x) { return points.getFunctionValue(x); }
+
+        @Override
+        public void evaluate(double[] xs, double[] out, int from, int to) { points.evaluate(xs, out, from, to); }
+
+        @Override
+        public int getPointsCount() { return points.getPointsCount(); }
+
+        @Override
+        public FunctionPoint getPoint(int index) { return points.getPoint(index); }
+
+        @Override
+        public double getPointX(int index) { return points.getPointX(index); }
+
+        @Override
+        public double getPointY(int index) { return points.getPointY(index); }
+
+        @Override
+        public TabulatedPointIterator pointIterator(int index) { return points.pointIterator(index); }
+
+        @Override
+        public void setPoint(int index, FunctionPoint point) {
+            throw new UnsupportedOperationException("Снимок доступен только для чтения");
+        }
+
+        @Override
+        public void setPointX(int index, double x) {
+            throw new UnsupportedOperationException("Снимок доступен только для чтения");
+        }
+
+        @Override
+        public void setPointY(int index, double y) {
+            throw new UnsupportedOperationException("Снимок доступен только для чтения");
+        }
+
+        @Override
+        public void deletePoint(int index) {
+            throw new UnsupportedOperationException("Снимок доступен только для чтения");
+        }
+
+        @Override
+        public void addPoint(FunctionPoint point) {
+            throw new UnsupportedOperationException("Снимок доступен только для чтения");
+        }
+
+        @Override
+        public String toString() { return points.toString(); }
+
+        @Override
+        public boolean equals(Object o) { return this == o || points.equals(o); }
+
+        @Override
+        public int hashCode() { return points.hashCode(); }
+
+        @Override
+        public Object clone() { return this; }
+    }
+}
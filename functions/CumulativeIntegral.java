@@ -0,0 +1,191 @@
+package functions;
+
+// Индекс накопленного интеграла табулированной функции.
+// При построении для каждой точки i запоминается интеграл от левой границы до x_i
+// (сумма интегралов целых отрезков, O(n)). Интеграл по любому [a, b] внутри области
+// определения - разность двух накопленных значений: поиск отрезка O(log n) и точный
+// интеграл неполного отрезка по формуле.
+// Интегрируется тот же интерполянт, по которому вычисляется getFunctionValue: ломаная
+// или кубический многочлен Эрмита для кубических режимов PrimitiveArrayTabulatedFunction.
+// Индекс хранит копию точек и не меняется при последующих изменениях функции
+public class CumulativeIntegral {
+    private final double[] xs;
+    private final double[] ys;
+    // Наклоны в точках для кубической интерполяции, null для линейной
+    private final double[] slopes;
+    // prefix[i] - интеграл от xs[0] до xs[i] по конечным отрезкам
+    private final double[] prefix;
+    // nonFinite[i] - число отрезков левее x_i, интеграл по которым NaN или бесконечен
+    private final int[] nonFinite;
+    private final int count;
+
+    public CumulativeIntegral(TabulatedFunction function) {
+        TabulatedFunction source = ConcurrentTabulatedFunction.unwrap(function);
+        count = source.getPointsCount();
+        xs = new double[count];
+        ys = new double[count];
+        TabulatedPointIterator it = source.pointIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            it.next();
+            xs[i] = it.getX();
+            ys[i] = it.getY();
+        }
+        slopes = (source instanceof PrimitiveArrayTabulatedFunction)
+                 ? ((PrimitiveArrayTabulatedFunction) source).hermiteSlopes() : null;
+
+        // Накопление с компенсацией (Ноймайер), как в параллельном методе трапеций
+        // Отрезки с NaN или бесконечностью в сумму не входят и только подсчитываются,
+        // чтобы не портить интегралы по остальной области
+        prefix = new double[count];
+        nonFinite = new int[count];
+        double[] acc = new double[2];
+        for (int i = 0; i < count - 1; i++) {
+            double value = segment(xs, ys, slopes, i);
+            boolean finite = !Double.isNaN(value) && !Double.isInfinite(value);
+            if (finite) {
+                TrapezoidTask.add(acc, value);
+            }
+            prefix[i + 1] = TrapezoidTask.total(acc);
+            nonFinite[i + 1] = nonFinite[i] + (finite ? 0 : 1);
+        }
+    }
+
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    public double getRightDomainBorder() {
+        return xs[count - 1];
+    }
+
+    // Интеграл по всей области определения
+    public double getTotal() {
+        return integrate(xs[0], xs[count - 1]);
+    }
+
+    // Интеграл по [left, right] за O(log n); при left > right - со знаком минус.
+    // NaN или бесконечность вне [left, right] на результат не влияют
+    public double integrate(double left, double right) {
+        if (left < xs[0] || right > xs[count - 1] || right < xs[0] || left > xs[count - 1]) {
+            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
+        }
+        if (Double.isNaN(left) || Double.isNaN(right)) {
+            throw new IllegalArgumentException("Границы интегрирования не должны быть NaN");
+        }
+        if (left > right) {
+            return -integrate(right, left);
+        }
+
+        int i = PrimitiveArrayTabulatedFunction.findSegment(xs, count, Double.NaN, left);
+        int j = PrimitiveArrayTabulatedFunction.findSegment(xs, count, Double.NaN, right);
+        double from = partial(xs, ys, slopes, i, (left - xs[i]) / (xs[i + 1] - xs[i]));
+        double to = partial(xs, ys, slopes, j, (right - xs[j]) / (xs[j + 1] - xs[j]));
+
+        // Среди отрезков i..j-1 есть NaN или бесконечность: сумма по ним напрямую
+        if (nonFinite[j] - nonFinite[i] > 0) {
+            double sum = to - from;
+            for (int k = i; k < j; k++) {
+                sum += segment(xs, ys, slopes, k);
+            }
+            return sum;
+        }
+        return (prefix[j] - prefix[i]) + (to - from);
+    }
+
+    // Накопленный интеграл от левой границы до x
+    public double cumulative(double x) {
+        return integrate(xs[0], x);
+    }
+
+    // Интеграл интерполянта по [left, right] (left < right внутри области определения)
+    // без построения индекса: отрезки между границами суммируются напрямую (с компенсацией),
+    // памяти не выделяется. O(log n + число отрезков в [left, right]); выгоднее индекса,
+    // когда интеграл по таблице нужен один раз
+    static double integrate(TabulatedFunction function, double left, double right) {
+        TabulatedFunction source = ConcurrentTabulatedFunction.unwrap(function);
+        if (source instanceof PrimitiveArrayTabulatedFunction) {
+            return ((PrimitiveArrayTabulatedFunction) source).integrate(left, right);
+        }
+
+        // Остальные реализации интерполируют линейно; первый отрезок - двоичным поиском,
+        // дальше последовательный проход итератором
+        int low = 0, high = source.getPointsCount() - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (source.getPointX(mid) <= left) low = mid;
+            else high = mid - 1;
+        }
+
+        TabulatedPointIterator it = source.pointIterator(low);
+        it.next();
+        double x1 = it.getX(), y1 = it.getY();
+        double a = left;
+        double sum = 0, compensation = 0;
+        while (it.hasNext()) {
+            it.next();
+            double x2 = it.getX(), y2 = it.getY();
+            double b = Math.min(x2, right);
+            double slope = (y2 - y1) / (x2 - x1);
+            double value = (y1 + slope * (a - x1) + y1 + slope * (b - x1)) * (b - a) / 2;
+
+            double t = sum + value;
+            compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+            sum = t;
+
+            if (x2 >= right) {
+                break;
+            }
+            x1 = x2;
+            y1 = y2;
+            a = x2;
+        }
+        return Double.isInfinite(sum) ? sum : sum + compensation;
+    }
+
+    // То же по массивам точек и наклонов (slopes == null - линейная интерполяция)
+    static double integrate(double[] xs, double[] ys, double[] slopes, int count, double step,
+                            double left, double right) {
+        int i = PrimitiveArrayTabulatedFunction.findSegment(xs, count, step, left);
+        int j = PrimitiveArrayTabulatedFunction.findSegment(xs, count, step, right);
+
+        double sum = -partial(xs, ys, slopes, i, (left - xs[i]) / (xs[i + 1] - xs[i]));
+        double compensation = 0;
+        for (int k = i; k <= j; k++) {
+            double value = (k < j) ? segment(xs, ys, slopes, k)
+                                   : partial(xs, ys, slopes, j, (right - xs[j]) / (xs[j + 1] - xs[j]));
+            double t = sum + value;
+            compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+            sum = t;
+        }
+        return Double.isInfinite(sum) ? sum : sum + compensation;
+    }
+
+    // Интеграл по целому отрезку [x_i, x_{i+1}]
+    private static double segment(double[] xs, double[] ys, double[] slopes, int i) {
+        double h = xs[i + 1] - xs[i];
+        double trapezoid = (ys[i] + ys[i + 1]) * h / 2;
+        if (slopes == null) {
+            return trapezoid;
+        }
+        // Поправка многочлена Эрмита к трапеции: h^2 (d_i - d_{i+1}) / 12
+        return trapezoid + h * h * (slopes[i] - slopes[i + 1]) / 12;
+    }
+
+    // Интеграл по [x_i, x_i + s h], 0 <= s <= 1
+    private static double partial(double[] xs, double[] ys, double[] slopes, int i, double s) {
+        double h = xs[i + 1] - xs[i];
+        double y1 = ys[i], y2 = ys[i + 1];
+        double s2 = s * s;
+        if (slopes == null) {
+            return h * (y1 * s + (y2 - y1) * s2 / 2);
+        }
+
+        // Первообразные базисных многочленов Эрмита
+        double s3 = s2 * s;
+        double s4 = s3 * s;
+        return h * (y1 * (s - s3 + s4 / 2)
+                  + h * slopes[i] * (s2 / 2 - 2 * s3 / 3 + s4 / 4)
+                  + y2 * (s3 - s4 / 2)
+                  + h * slopes[i + 1] * (s4 / 4 - s3 / 3));
+    }
+}
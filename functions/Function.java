@@ -4,4 +4,12 @@ public interface Function {
     double getLeftDomainBorder();
     double getRightDomainBorder();
     double getFunctionValue(double x);
+    
+    // Пакетное вычисление: out[i] = getFunctionValue(xs[i]) для i из [from, to).
+    // Массивы xs и out могут совпадать (вычисление на месте)
+    default void evaluate(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = getFunctionValue(xs[i]);
+        }
+    }
 }
\ No newline at end of file
@@ -1,46 +1,208 @@
 package functions;
 import functions.meta.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class Functions {
     // Приватный конструктор, чтобы нельзя было создать экземпляр
     private Functions() {}
 
-    // Задание 1: Метод для вычисления интеграла
+    // Размер блока точек для пакетного вычисления Function.evaluate
+    static final int EVALUATION_BLOCK = 1024;
+    
+    // Наибольшее число шагов сетки интегрирования. До этого предела частное
+    // (right - left) / step отличается от точного числа шагов меньше чем на единицу
+    public static final long MAX_INTEGRATION_STEPS = 1L << 40;
+    
+    // Задание 1: Метод для вычисления интеграла.
+    // Для табулированной функции step игнорируется: её интерполянт интегрируется точно
     public static double integrate(Function f, double left, double right, double step) {
-        // Проверка, что интервал интегрирования входит в область определения
-        if (left < f.getLeftDomainBorder() || right > f.getRightDomainBorder()) {
-            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
-        }
+        checkIntegrationArguments(f, left, right, step);
         
-        if (left >= right) {
-            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы");
+        // Интерполянт табулированной функции интегрируется точно по её точкам, шаг не используется.
+        // Суммируются только отрезки внутри [left, right], без копирования таблицы; для многих
+        // интегралов по одной таблице - CumulativeIntegral или integrateBatch
+        if (f instanceof TabulatedFunction) {
+            return CumulativeIntegral.integrate((TabulatedFunction) f, left, right);
         }
         
-        if (step <= 0) {
-            throw new IllegalArgumentException("Шаг должен быть положительным числом");
-        }
+        // Узлы left + k * step, k = 1..steps, и правая граница, если она не совпала с узлом;
+        // та же сетка, что в integrateParallel
+        long steps = stepCount(left, right, step);
+        long nodes = (left + steps * step < right) ? steps + 1 : steps;
         
         double integral = 0.0;
         double currentX = left;
+        double f1 = f.getFunctionValue(left);
         
-        while (currentX < right) {
-            double nextX = Math.min(currentX + step, right);
-            double f1 = f.getFunctionValue(currentX);
-            double f2 = f.getFunctionValue(nextX);
-            
-            // Если какое-то значение NaN, возвращаем NaN
-            if (Double.isNaN(f1) || Double.isNaN(f2)) {
-                return Double.NaN;
+        // Если какое-то значение NaN, возвращаем NaN
+        if (Double.isNaN(f1)) {
+            return Double.NaN;
+        }
+        
+        // Узлы вычисляются блоками через f.evaluate, каждый узел - один раз
+        int blockSize = (int) Math.min(EVALUATION_BLOCK, nodes);
+        double[] xs = new double[blockSize];
+        double[] values = new double[blockSize];
+        
+        for (long k = 1; k <= nodes; ) {
+            int count = 0;
+            for (; count < blockSize && k <= nodes; count++, k++) {
+                xs[count] = (k > steps) ? right : left + k * step;
             }
+            f.evaluate(xs, values, 0, count);
             
-            // Метод трапеций
-            integral += (f1 + f2) * (nextX - currentX) / 2.0;
-            currentX = nextX;
+            for (int i = 0; i < count; i++) {
+                double nextX = xs[i];
+                double f2 = values[i];
+                
+                if (Double.isNaN(f2)) {
+                    return Double.NaN;
+                }
+                
+                // Метод трапеций
+                integral += (f1 + f2) * (nextX - currentX) / 2.0;
+                currentX = nextX;
+                f1 = f2;
+            }
+        }
+        
+        return integral;
+    }
+    
+    // Интегрирование методом трапеций по многим отрезкам [lefts[i], rights[i]] с одним шагом.
+    // Узлы общей сетки вычисляются один раз для всех отрезков, результат для каждого
+    // отрезка - разность накопленных сумм. Узлы отрезка - его границы и узлы общей сетки,
+    // поэтому результат отличается от integrate в пределах погрешности метода трапеций
+    public static double[] integrateBatch(Function f, double[] lefts, double[] rights, double step) {
+        if (lefts.length != rights.length) {
+            throw new IllegalArgumentException("Массивы левых и правых границ должны быть одной длины");
+        }
+        for (int i = 0; i < lefts.length; i++) {
+            checkIntegrationArguments(f, lefts[i], rights[i], step);
+        }
+        
+        // Для табулированной функции префиксные суммы строятся по её точкам один раз
+        if (f instanceof TabulatedFunction) {
+            CumulativeIntegral integral = new CumulativeIntegral((TabulatedFunction) f);
+            double[] result = new double[lefts.length];
+            for (int i = 0; i < lefts.length; i++) {
+                result[i] = integral.integrate(lefts[i], rights[i]);
+            }
+            return result;
+        }
+        if (lefts.length == 0) {
+            return new double[0];
+        }
+        
+        // Общая сетка покрывает все отрезки: её размер ограничен, как у одного интеграла
+        double min = lefts[0], max = rights[0];
+        for (int i = 1; i < lefts.length; i++) {
+            min = Math.min(min, lefts[i]);
+            max = Math.max(max, rights[i]);
+        }
+        stepCount(min, max, step);
+        return BatchIntegration.integrate(f, lefts, rights, step);
+    }
+    
+    // Параллельное интегрирование методом трапеций в общем пуле fork-join
+    public static double integrateParallel(Function f, double left, double right, double step) {
+        return integrateParallel(f, left, right, step, ForkJoinPool.commonPool());
+    }
+    
+    // Параллельное интегрирование методом трапеций в заданном пуле fork-join.
+    // Отрезок делится на узлы left + k * step, каждый узел вычисляется один раз,
+    // частичные суммы складываются с компенсацией (Ноймайер). Результат
+    // детерминирован и не зависит от числа потоков пула
+    public static double integrateParallel(Function f, double left, double right, double step, ForkJoinPool pool) {
+        checkIntegrationArguments(f, left, right, step);
+        
+        // Число полных шагов; последний узел сетки не должен выходить за right
+        long last = stepCount(left, right, step);
+        double lastX = left + last * step;
+        
+        double lastValue = f.getFunctionValue(lastX);
+        double rightValue = (lastX < right) ? f.getFunctionValue(right) : lastValue;
+        
+        // Шаг больше длины отрезка: единственная трапеция
+        if (last == 0) {
+            return (lastValue + rightValue) * (right - left) / 2.0;
+        }
+        
+        // Узлы 0..last-1 параллельно, вес последнего узла добавляется отдельно
+        double[] acc = pool.invoke(new TrapezoidTask(f, left, step, 0, last));
+        TrapezoidTask.add(acc, lastValue / 2.0);
+        double integral = TrapezoidTask.total(acc) * step;
+        
+        // Неполный последний отрезок [lastX, right]
+        if (lastX < right) {
+            integral += (lastValue + rightValue) * (right - lastX) / 2.0;
         }
         
         return integral;
     }
     
+    // Лимит вычислений функции по умолчанию для адаптивного интегрирования
+    public static final int DEFAULT_MAX_EVALUATIONS = 1_000_000;
+    
+    // Адаптивное интегрирование с заданной абсолютной погрешностью
+    public static IntegrationResult integrateAdaptive(Function f, double left, double right, double tolerance) {
+        return integrateAdaptive(f, left, right, tolerance, DEFAULT_MAX_EVALUATIONS);
+    }
+    
+    // Адаптивное интегрирование методом Симпсона: отрезки с наибольшей оценкой
+    // погрешности делятся пополам, пока суммарная оценка не станет меньше tolerance
+    // или число вычислений функции не достигнет maxEvaluations
+    public static IntegrationResult integrateAdaptive(Function f, double left, double right, 
+                                                      double tolerance, int maxEvaluations) {
+        // Интервал проверяется так же, как в методе трапеций; шаг заменяется допуском
+        checkIntegrationArguments(f, left, right, 1.0);
+        
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть положительным числом");
+        }
+        
+        if (maxEvaluations < 5) {
+            throw new IllegalArgumentException("Лимит вычислений функции должен быть не меньше 5");
+        }
+        
+        return new AdaptiveSimpson(f, maxEvaluations).integrate(left, right, tolerance);
+    }
+    
+    // Проверка аргументов интегрирования
+    // Число полных шагов сетки left + k * step внутри [left, right]. Частное округлено,
+    // поэтому его целая часть поправляется не более чем на единицу. Шаг отклоняется,
+    // если шагов больше MAX_INTEGRATION_STEPS или узлы сетки не отличаются друг от друга
+    static long stepCount(double left, double right, double step) {
+        double quotient = (right - left) / step;
+        if (!(quotient <= MAX_INTEGRATION_STEPS) ||
+            step < Math.ulp(Math.max(Math.abs(left), Math.abs(right)))) {
+            throw new IllegalArgumentException("Слишком малый шаг интегрирования: " + step);
+        }
+        
+        long steps = (long) quotient;
+        if (left + steps * step > right) {
+            steps--;
+        } else if (left + (steps + 1) * step <= right) {
+            steps++;
+        }
+        return steps;
+    }
+    
+    private static void checkIntegrationArguments(Function f, double left, double right, double step) {
+        // Проверка, что интервал интегрирования входит в область определения
+        if (left < f.getLeftDomainBorder() || right > f.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
+        }
+        
+        if (left >= right) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы");
+        }
+        
+        if (step <= 0) {
+            throw new IllegalArgumentException("Шаг должен быть положительным числом");
+        }
+    }
+    
     public static Function shift(Function f, double shiftX, double shiftY) {
         return new Shift(f, shiftX, shiftY);
     }
@@ -64,4 +226,20 @@ public class Functions {
     public static Function composition(Function f1, Function f2) {
         return new Composition(f1, f2);
     }
+    
+    // Кэширующая обёртка: не более capacity запомненных значений
+    public static Cached cached(Function f, int capacity) {
+        return new Cached(f, capacity);
+    }
+    
+    // Кэширующая обёртка с округлением аргумента к сетке с шагом quantum
+    public static Cached cached(Function f, int capacity, double quantum) {
+        return new Cached(f, capacity, quantum);
+    }
+    
+    // Табулирование по требованию на [left, right] с погрешностью tolerance и не более maxPoints точек
+    public static LazyTabulated lazyTabulated(Function f, double left, double right, int segments,
+                                              int initialPoints, double tolerance, long maxPoints) {
+        return new LazyTabulated(f, left, right, segments, initialPoints, tolerance, maxPoints);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package functions;
+
+// Наклоны кубических интерполянтов из InterpolationMode и вычисление многочлена Эрмита.
+// Наклоны Акимы и PCHIP в точке i зависят только от точек i-3..i+3, поэтому после
+// изменения одной точки пересчитываются локально; сплайн требует решения трёхдиагональной
+// системы для всех точек
+final class HermiteSlopes {
+    // Радиус окрестности, в которой меняются наклоны Акимы и PCHIP при изменении одной точки
+    static final int LOCALITY = 3;
+
+    private HermiteSlopes() {}
+
+    // Наклоны d[from..to) для локальных способов (AKIMA, PCHIP)
+    static void local(InterpolationMode mode, double[] xs, double[] ys, int count, double[] d, int from, int to) {
+        from = Math.max(from, 0);
+        to = Math.min(to, count);
+        for (int i = from; i < to; i++) {
+            d[i] = (mode == InterpolationMode.AKIMA) ? akima(xs, ys, count, i) : pchip(xs, ys, count, i);
+        }
+    }
+
+    // Наклоны естественного кубического сплайна во всех точках (метод прогонки).
+    // Результат - новый массив длины capacity; прямой ход идёт в нём же, поэтому
+    // массив нельзя показывать читателям до окончания вычисления
+    static double[] naturalSpline(double[] xs, double[] ys, int count, int capacity) {
+        double[] d = new double[capacity];
+        int last = count - 1;
+        // Прямой ход: c - наддиагональ после исключения, d - правая часть
+        double[] c = new double[count];
+
+        double h = xs[1] - xs[0];
+        double delta = (ys[1] - ys[0]) / h;
+        // 2 d_0 + d_1 = 3 delta_0
+        c[0] = 0.5;
+        d[0] = 1.5 * delta;
+
+        for (int i = 1; i < last; i++) {
+            double hPrev = h, deltaPrev = delta;
+            h = xs[i + 1] - xs[i];
+            delta = (ys[i + 1] - ys[i]) / h;
+            // h_i d_{i-1} + 2 (h_{i-1} + h_i) d_i + h_{i-1} d_{i+1} = 3 (h_i delta_{i-1} + h_{i-1} delta_i)
+            double m = 2 * (hPrev + h) - h * c[i - 1];
+            c[i] = hPrev / m;
+            d[i] = (3 * (h * deltaPrev + hPrev * delta) - h * d[i - 1]) / m;
+        }
+
+        // d_{n-2} + 2 d_{n-1} = 3 delta_{n-2}
+        d[last] = (3 * delta - d[last - 1]) / (2 - c[last - 1]);
+        for (int i = last - 1; i >= 0; i--) {
+            d[i] -= c[i] * d[i + 1];
+        }
+        return d;
+    }
+
+    // Наклон PCHIP (Фрич-Карлсон): взвешенное гармоническое среднее соседних наклонов,
+    // ноль в точках локального экстремума
+    static double pchip(double[] xs, double[] ys, int count, int i) {
+        if (count == 2) {
+            return secant(xs, ys, 0);
+        }
+        if (i == 0) {
+            return pchipEnd(xs[1] - xs[0], xs[2] - xs[1], secant(xs, ys, 0), secant(xs, ys, 1));
+        }
+        if (i == count - 1) {
+            return pchipEnd(xs[i] - xs[i - 1], xs[i - 1] - xs[i - 2], secant(xs, ys, i - 1), secant(xs, ys, i - 2));
+        }
+
+        double hPrev = xs[i] - xs[i - 1], h = xs[i + 1] - xs[i];
+        double deltaPrev = secant(xs, ys, i - 1), delta = secant(xs, ys, i);
+        if (deltaPrev * delta <= 0) {
+            return 0;
+        }
+        double w1 = 2 * h + hPrev;
+        double w2 = h + 2 * hPrev;
+        return (w1 + w2) / (w1 / deltaPrev + w2 / delta);
+    }
+
+    // Трёхточечная оценка наклона в конце с ограничениями, сохраняющими монотонность
+    private static double pchipEnd(double h0, double h1, double delta0, double delta1) {
+        double d = ((2 * h0 + h1) * delta0 - h0 * delta1) / (h0 + h1);
+        if (Math.signum(d) != Math.signum(delta0)) {
+            return 0;
+        }
+        if (Math.signum(delta0) != Math.signum(delta1) && Math.abs(d) > 3 * Math.abs(delta0)) {
+            return 3 * delta0;
+        }
+        return d;
+    }
+
+    // Наклон Акимы по наклонам отрезков m_{i-2}..m_{i+1}
+    static double akima(double[] xs, double[] ys, int count, int i) {
+        if (count == 2) {
+            return secant(xs, ys, 0);
+        }
+        double m0 = akimaSecant(xs, ys, count, i - 2);
+        double m1 = akimaSecant(xs, ys, count, i - 1);
+        double m2 = akimaSecant(xs, ys, count, i);
+        double m3 = akimaSecant(xs, ys, count, i + 1);
+
+        double w1 = Math.abs(m3 - m2);
+        double w2 = Math.abs(m1 - m0);
+        if (w1 + w2 == 0) {
+            return (m1 + m2) / 2;
+        }
+        return (w1 * m1 + w2 * m2) / (w1 + w2);
+    }
+
+    // Наклон отрезка j; за пределами таблицы - линейное продолжение по Акиме
+    private static double akimaSecant(double[] xs, double[] ys, int count, int j) {
+        if (j < 0) {
+            return 2 * akimaSecant(xs, ys, count, j + 1) - akimaSecant(xs, ys, count, j + 2);
+        }
+        if (j > count - 2) {
+            return 2 * akimaSecant(xs, ys, count, j - 1) - akimaSecant(xs, ys, count, j - 2);
+        }
+        return secant(xs, ys, j);
+    }
+
+    private static double secant(double[] xs, double[] ys, int j) {
+        return (ys[j + 1] - ys[j]) / (xs[j + 1] - xs[j]);
+    }
+
+    // Значение многочлена Эрмита на отрезке [xs[i], xs[i + 1]]
+    static double interpolate(double[] xs, double[] ys, double[] d, int i, double x) {
+        double h = xs[i + 1] - xs[i];
+        double t = (x - xs[i]) / h;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * ys[i]
+             + (t3 - 2 * t2 + t) * h * d[i]
+             + (-2 * t3 + 3 * t2) * ys[i + 1]
+             + (t3 - t2) * h * d[i + 1];
+    }
+}
@@ -0,0 +1,40 @@
+package functions;
+
+// Результат адаптивного интегрирования: значение, оценка погрешности
+// и число вычислений функции
+public class IntegrationResult {
+    private final double value;
+    private final double errorEstimate;
+    private final int evaluations;
+    private final boolean converged;
+    
+    public IntegrationResult(double value, double errorEstimate, int evaluations, boolean converged) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.converged = converged;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+    
+    public int getEvaluations() {
+        return evaluations;
+    }
+    
+    // false, если требуемая точность не достигнута до исчерпания лимита вычислений
+    public boolean isConverged() {
+        return converged;
+    }
+    
+    @Override
+    public String toString() {
+        return "IntegrationResult{value=" + value + ", error=" + errorEstimate + 
+               ", evaluations=" + evaluations + ", converged=" + converged + "}";
+    }
+}
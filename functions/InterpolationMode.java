@@ -0,0 +1,16 @@
+package functions;
+
+// Способ интерполяции между точками PrimitiveArrayTabulatedFunction.
+// Кубические способы задают на каждом отрезке многочлен Эрмита по значениям и
+// наклонам в концах; наклоны хранятся в массиве рядом с точками
+public enum InterpolationMode {
+    // Ломаная через точки
+    LINEAR,
+    // Естественный кубический сплайн (вторая производная на концах равна нулю);
+    // наклоны зависят от всех точек, поэтому изменяющие методы пересчитывают их целиком за O(n)
+    NATURAL_SPLINE,
+    // Сплайн Акимы: наклон в точке по четырём соседним отрезкам, мало колеблется у выбросов
+    AKIMA,
+    // Монотонный кубический Эрмит (PCHIP, Фрич-Карлсон): не создаёт новых экстремумов
+    PCHIP
+}
@@ -1,5 +1,6 @@
 package functions;
 import java.io.*;
+import java.util.NoSuchElementException;
 
 public class LinkedListTabulatedFunction implements TabulatedFunction, Serializable {
     
@@ -13,6 +14,20 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     private Node head; // Головной узел (не содержит данных, служит для удобства)
     private int size;  // Количество узлов в списке
     
+    // Курсор: последний узел, полученный по индексу, и его индекс.
+    // Узел и индекс публикуются вместе одним неизменяемым объектом, поэтому
+    // параллельные читатели не могут получить узел одного вызова с индексом другого
+    private transient Cursor cursor;
+    
+    private static final class Cursor {
+        final Node node;
+        final int index;
+        Cursor(Node node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+    
     // Конструктор по умолчанию (добавлен для clone())
     public LinkedListTabulatedFunction() {
         init();
@@ -66,6 +81,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         head.prev = head;
         head.next = head;
         size = 0;
+        cursor = null;
     }
     
     // Добавление узла в конец списка
@@ -80,22 +96,49 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         size++;
     }
     
-    // Получение узла по индексу
+    // Получение узла по индексу: обход начинается с ближайшего из
+    // начала списка, конца списка или курсора (последнего найденного узла)
     private Node getNode(int index) {
         if (index < 0 || index >= size)
             throw new FunctionPointIndexOutOfBoundsException("Индекс вне диапазона: " + index);
         
-        Node current = head.next;
-        for (int i = 0; i < index; i++) 
+        Node current;
+        int position;
+        
+        if (index <= size - 1 - index) {
+            current = head.next;
+            position = 0;
+        } else {
+            current = head.prev;
+            position = size - 1;
+        }
+        
+        // Курсор читается один раз: узел и индекс всегда из одной публикации
+        Cursor last = cursor;
+        if (last != null && Math.abs(index - last.index) < Math.abs(index - position)) {
+            current = last.node;
+            position = last.index;
+        }
+        
+        while (position < index) {
             current = current.next;
+            position++;
+        }
+        while (position > index) {
+            current = current.prev;
+            position--;
+        }
         
+        // Повторное обращение к тому же узлу не создаёт новый курсор
+        if (last == null || last.node != current) {
+            cursor = new Cursor(current, index);
+        }
         return current;
     }
     
-    // Добавление узла по индексу
-    private Node addNodeAtIndex(int index, FunctionPoint point) {
+    // Вставка нового узла перед target, index - индекс нового узла
+    private Node insertBefore(Node target, int index, FunctionPoint point) {
         Node newNode = new Node(point);
-        Node target = (index == size) ? head : getNode(index);
         
         newNode.prev = target.prev;
         newNode.next = target;
@@ -103,6 +146,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         target.prev = newNode;
         size++;
         
+        cursor = new Cursor(newNode, index);
         return newNode;
     }
     
@@ -112,6 +156,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         toRemove.prev.next = toRemove.next;
         toRemove.next.prev = toRemove.prev;
         size--;
+        
+        // Курсор переносится на следующий узел, который получил индекс удалённого
+        cursor = (index < size) ? new Cursor(toRemove.next, index) : null;
     }
 
     @Override
@@ -224,7 +271,62 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         if (i < size && Math.abs(current.point.getX() - point.getX()) < 1e-9)
             throw new InappropriateFunctionPointException("Дублирование X координаты");
         
-        addNodeAtIndex(i, new FunctionPoint(point));
+        insertBefore(current, i, new FunctionPoint(point));
+    }
+    
+    // Итератор, переходящий по ссылкам узлов: полный обход за O(n)
+    @Override
+    public TabulatedPointIterator pointIterator(int index) {
+        if (index < 0 || index > size)
+            throw new FunctionPointIndexOutOfBoundsException("Индекс вне диапазона: " + index);
+        
+        Node start = (index == size) ? head : getNode(index);
+        
+        return new TabulatedPointIterator() {
+            private Node nextNode = start;  // Узел справа от курсора
+            private int cursor = index;
+            private Node current;           // Узел, через который прошёл последний переход
+            
+            @Override
+            public boolean hasNext() { return nextNode != head; }
+            
+            @Override
+            public boolean hasPrevious() { return nextNode.prev != head; }
+            
+            @Override
+            public int nextIndex() { return cursor; }
+            
+            @Override
+            public int previousIndex() { return cursor - 1; }
+            
+            @Override
+            public void next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                current = nextNode;
+                nextNode = nextNode.next;
+                cursor++;
+            }
+            
+            @Override
+            public void previous() {
+                if (!hasPrevious()) throw new NoSuchElementException();
+                nextNode = nextNode.prev;
+                current = nextNode;
+                cursor--;
+            }
+            
+            @Override
+            public double getX() {
+                if (current == null) throw new IllegalStateException();
+                return current.point.getX();
+            }
+            
+            @Override
+            public double getY() {
+                if (current == null) throw new IllegalStateException();
+                return current.point.getY();
+            }
+        };
     }
     
     // Задание 3: Переопределение методов Object
@@ -0,0 +1,352 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Табулированная функция только для чтения, отображённая в память из файла.
+// Открытие не копирует данные в кучу, таблица может быть больше кучи.
+//
+// Формат файла (little-endian), версия 1:
+//   int    MAGIC            ('T','A','B','F')
+//   int    VERSION
+//   long   число точек
+//   int    флаги            (FLAG_UNIFORM - точки расположены с постоянным шагом)
+//   int    резерв
+//   double минимальный x
+//   double максимальный x
+//   double шаг равномерной сетки (NaN для неравномерной)
+//   double[count] столбец x, затем double[count] столбец y
+public class MappedTabulatedFunction implements TabulatedFunction {
+    public static final int MAGIC = 0x46424154;
+    public static final int VERSION = 1;
+    public static final int FLAG_UNIFORM = 1;
+    public static final int HEADER_SIZE = 48;
+
+    // Столбец отображается частями по 2^27 значений (1 ГиБ): один MappedByteBuffer ограничен 2 ГиБ
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private final DoubleBuffer[] xs;
+    private final DoubleBuffer[] ys;
+    private final int pointsCount;
+    private final double leftX;
+    private final double rightX;
+    // Шаг равномерной сетки или NaN
+    private final double uniformStep;
+
+    private MappedTabulatedFunction(DoubleBuffer[] xs, DoubleBuffer[] ys, int pointsCount,
+                                    double leftX, double rightX, double uniformStep) {
+        this.xs = xs;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+        this.leftX = leftX;
+        this.rightX = rightX;
+        this.uniformStep = uniformStep;
+    }
+
+    // Отображение файла в память: читается только заголовок
+    public static MappedTabulatedFunction open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Файл слишком короткий для заголовка");
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Неизвестный формат файла");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия формата: " + version);
+            }
+            long count = header.getLong();
+            int flags = header.getInt();
+            header.getInt();
+            double minX = header.getDouble();
+            double maxX = header.getDouble();
+            double step = header.getDouble();
+
+            if (count < 2 || count > Integer.MAX_VALUE) {
+                throw new IOException("Некорректное число точек: " + count);
+            }
+            if (channel.size() < HEADER_SIZE + count * 16) {
+                throw new IOException("Файл короче, чем указано в заголовке");
+            }
+
+            int pointsCount = (int) count;
+            DoubleBuffer[] xs = map(channel, HEADER_SIZE, pointsCount);
+            DoubleBuffer[] ys = map(channel, HEADER_SIZE + count * 8, pointsCount);
+            double uniformStep = (flags & FLAG_UNIFORM) != 0 ? step : Double.NaN;
+            return new MappedTabulatedFunction(xs, ys, pointsCount, minX, maxX, uniformStep);
+        }
+    }
+
+    // Отображение столбца из count значений, начиная с offset
+    private static DoubleBuffer[] map(FileChannel channel, long offset, int count) throws IOException {
+        return map(channel, FileChannel.MapMode.READ_ONLY, offset, count);
+    }
+
+    private static DoubleBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long offset, int count)
+            throws IOException {
+        int segments = (int) (((long) count + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        DoubleBuffer[] result = new DoubleBuffer[segments];
+        for (int i = 0; i < segments; i++) {
+            long first = (long) i << SEGMENT_SHIFT;
+            long length = Math.min(count - first, 1L << SEGMENT_SHIFT);
+            result[i] = channel.map(mode, offset + first * 8, length * 8)
+                               .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return result;
+    }
+
+    // Создание файла под count точек равномерной сетки leftX + i * step.
+    // Записывается заголовок, столбцы {x, y} отображаются для записи (TabulateTask)
+    static DoubleBuffer[][] create(Path path, int count, double leftX, double step) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count)
+                  .putInt(FLAG_UNIFORM).putInt(0)
+                  .putDouble(leftX).putDouble(leftX + (count - 1) * step)
+                  .putDouble(step);
+            header.flip();
+            writeFully(channel, header);
+
+            // Отображение для записи само расширяет файл до нужного размера
+            DoubleBuffer[] xs = map(channel, FileChannel.MapMode.READ_WRITE, HEADER_SIZE, count);
+            DoubleBuffer[] ys = map(channel, FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) count * 8, count);
+            return new DoubleBuffer[][] {xs, ys};
+        }
+    }
+
+    // Запись length значений src в столбец начиная с индекса index (с учётом границ частей)
+    static void put(DoubleBuffer[] column, int index, double[] src, int length) {
+        int offset = 0;
+        while (offset < length) {
+            int position = index + offset;
+            int count = Math.min(length - offset, (1 << SEGMENT_SHIFT) - (position & SEGMENT_MASK));
+            column[position >>> SEGMENT_SHIFT].put(position & SEGMENT_MASK, src, offset, count);
+            offset += count;
+        }
+    }
+
+    // Запись табулированной функции в файл этого формата
+    public static void write(TabulatedFunction function, Path path) throws IOException {
+        int count = function.getPointsCount();
+        double step = uniformStep(function);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count)
+                  .putInt(Double.isNaN(step) ? 0 : FLAG_UNIFORM).putInt(0)
+                  .putDouble(function.getLeftDomainBorder()).putDouble(function.getRightDomainBorder())
+                  .putDouble(step);
+            header.flip();
+            writeFully(channel, header);
+
+            // Столбцы пишутся блоками через прямой буфер
+            ByteBuffer block = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (int column = 0; column < 2; column++) {
+                TabulatedPointIterator it = function.pointIterator();
+                while (it.hasNext()) {
+                    it.next();
+                    block.putDouble(column == 0 ? it.getX() : it.getY());
+                    if (!block.hasRemaining()) {
+                        block.flip();
+                        writeFully(channel, block);
+                        block.clear();
+                    }
+                }
+                block.flip();
+                writeFully(channel, block);
+                block.clear();
+            }
+        }
+    }
+
+    // Шаг сетки, если точки расположены равномерно, иначе NaN (один проход итератором)
+    private static double uniformStep(TabulatedFunction function) {
+        int count = function.getPointsCount();
+        double left = function.getLeftDomainBorder();
+        double step = (function.getRightDomainBorder() - left) / (count - 1);
+
+        TabulatedPointIterator it = function.pointIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            it.next();
+            double expected = left + i * step;
+            if (Math.abs(it.getX() - expected) > 1e-9 * Math.max(1.0, Math.abs(expected)))
+                return Double.NaN;
+        }
+        return step;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private double x(int index) {
+        return xs[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+    }
+
+    private double y(int index) {
+        return ys[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+    }
+
+    @Override
+    public double getLeftDomainBorder() { return leftX; }
+
+    @Override
+    public double getRightDomainBorder() { return rightX; }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < leftX || x > rightX)
+            return Double.NaN;
+
+        int i = findSegment(x);
+        double x1 = x(i), y1 = y(i);
+        double x2 = x(i + 1), y2 = y(i + 1);
+
+        if (Math.abs(x1 - x) < 1e-9)
+            return y1;
+        if (Math.abs(x2 - x) < 1e-9)
+            return y2;
+
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    // Поиск индекса i такого, что x(i) <= x <= x(i + 1), как в PrimitiveArrayTabulatedFunction
+    private int findSegment(double x) {
+        int last = pointsCount - 2;
+
+        if (!Double.isNaN(uniformStep)) {
+            int i = (int) ((x - leftX) / uniformStep);
+            if (i > last) i = last;
+            if (i < 0) i = 0;
+            if (x < x(i) && i > 0) i--;
+            else if (x > x(i + 1) && i < last) i++;
+            if (x(i) <= x && x <= x(i + 1))
+                return i;
+        }
+
+        int low = 0, high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (x(mid) <= x) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    @Override
+    public int getPointsCount() { return pointsCount; }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Функция доступна только для чтения");
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Функция доступна только для чтения");
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Функция доступна только для чтения");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Функция доступна только для чтения");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Функция доступна только для чтения");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount)
+            throw new FunctionPointIndexOutOfBoundsException("Index: " + index);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("(").append(x(i)).append("; ").append(y(i)).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o instanceof TabulatedFunction) {
+            TabulatedFunction other = (TabulatedFunction) o;
+
+            if (this.getPointsCount() != other.getPointsCount()) {
+                return false;
+            }
+
+            TabulatedPointIterator it = other.pointIterator();
+            for (int i = 0; i < pointsCount; i++) {
+                it.next();
+                if (Math.abs(x(i) - it.getX()) >= 1e-9 || Math.abs(y(i) - it.getY()) >= 1e-9) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            hash ^= 31 * (31 + Double.hashCode(x(i))) + Double.hashCode(y(i));
+        }
+        return hash;
+    }
+
+    // Данные неизменяемы, поэтому копия разделяет отображённые буферы
+    @Override
+    public Object clone() {
+        return new MappedTabulatedFunction(xs, ys, pointsCount, leftX, rightX, uniformStep);
+    }
+}
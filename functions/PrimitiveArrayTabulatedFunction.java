@@ -0,0 +1,617 @@
+package functions;
+import java.io.*;
+import java.util.Arrays;
+
+// Табулированная функция на параллельных массивах double[] xs / double[] ys:
+// нет объекта FunctionPoint на каждую точку, чтение значений не создаёт объектов
+public class PrimitiveArrayTabulatedFunction implements TabulatedFunction, Externalizable {
+    private double[] xs;
+    private double[] ys;
+    private int pointsCount;
+    // Шаг равномерной сетки или NaN, если точки расположены неравномерно
+    private double uniformStep = Double.NaN;
+    // Способ интерполяции; для кубических способов slopes[i] - наклон в точке i
+    private InterpolationMode interpolation = InterpolationMode.LINEAR;
+    // Наклоны всегда актуальны: их пересчитывают изменяющие методы, чтение ничего не меняет
+    private double[] slopes;
+
+    public PrimitiveArrayTabulatedFunction() {
+        // Инициализация по умолчанию
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            out.writeDouble(xs[i]);
+            out.writeDouble(ys[i]);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        pointsCount = in.readInt();
+        xs = new double[pointsCount + 10];
+        ys = new double[pointsCount + 10];
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
+        }
+        uniformStep = uniformStep(xs, pointsCount);
+    }
+
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[checkCount(pointsCount)]);
+    }
+
+    // Проверка числа точек до выделения массива значений
+    private static int checkCount(int pointsCount) {
+        if (pointsCount < 2)
+            throw new IllegalArgumentException("Invalid domain or points count");
+        return pointsCount;
+    }
+
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX || values.length < 2)
+            throw new IllegalArgumentException("Invalid domain or points count");
+
+        this.pointsCount = values.length;
+        this.xs = new double[pointsCount + 10];
+        this.ys = new double[pointsCount + 10];
+        double step = (rightX - leftX) / (pointsCount - 1);
+
+        for (int i = 0; i < pointsCount; i++)
+            xs[i] = leftX + i * step;
+        System.arraycopy(values, 0, ys, 0, pointsCount);
+        this.uniformStep = step;
+    }
+
+    public PrimitiveArrayTabulatedFunction(FunctionPoint[] pointsArray) {
+        if (pointsArray.length < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+
+        for (int i = 0; i < pointsArray.length - 1; i++) {
+            if (pointsArray[i].getX() >= pointsArray[i + 1].getX()) {
+                throw new IllegalArgumentException("Points must be ordered by X");
+            }
+        }
+
+        this.pointsCount = pointsArray.length;
+        this.xs = new double[pointsCount + 10];
+        this.ys = new double[pointsCount + 10];
+
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = pointsArray[i].getX();
+            ys[i] = pointsArray[i].getY();
+        }
+        this.uniformStep = uniformStep(xs, pointsCount);
+    }
+
+    public PrimitiveArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Arrays of X and Y must have equal length");
+        }
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+
+        for (int i = 0; i < xValues.length - 1; i++) {
+            if (xValues[i] >= xValues[i + 1]) {
+                throw new IllegalArgumentException("Points must be ordered by X");
+            }
+        }
+
+        this.pointsCount = xValues.length;
+        this.xs = Arrays.copyOf(xValues, pointsCount + 10);
+        this.ys = Arrays.copyOf(yValues, pointsCount + 10);
+        this.uniformStep = uniformStep(xs, pointsCount);
+    }
+
+    // Функция над готовыми массивами без копирования (массивы переходят во владение функции)
+    static PrimitiveArrayTabulatedFunction wrap(double[] xValues, double[] yValues, int pointsCount) {
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("At least 2 points required");
+        }
+
+        for (int i = 0; i < pointsCount - 1; i++) {
+            if (xValues[i] >= xValues[i + 1]) {
+                throw new IllegalArgumentException("Points must be ordered by X");
+            }
+        }
+
+        PrimitiveArrayTabulatedFunction function = new PrimitiveArrayTabulatedFunction();
+        function.xs = xValues;
+        function.ys = yValues;
+        function.pointsCount = pointsCount;
+        function.uniformStep = uniformStep(xValues, pointsCount);
+        return function;
+    }
+
+    @Override
+    public double getLeftDomainBorder() { return xs[0]; }
+
+    @Override
+    public double getRightDomainBorder() { return xs[pointsCount - 1]; }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < xs[0] || x > xs[pointsCount - 1])
+            return Double.NaN;
+
+        int i = findSegment(xs, pointsCount, uniformStep, x);
+        double x1 = xs[i], y1 = ys[i];
+        double x2 = xs[i + 1], y2 = ys[i + 1];
+
+        if (Math.abs(x1 - x) < 1e-9)
+            return y1;
+        if (Math.abs(x2 - x) < 1e-9)
+            return y2;
+
+        if (interpolation != InterpolationMode.LINEAR) {
+            return HermiteSlopes.interpolate(xs, ys, slopes, i, x);
+        }
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+
+    public InterpolationMode getInterpolation() {
+        return interpolation;
+    }
+
+    // Смена способа интерполяции: наклоны вычисляются заново за O(n)
+    public void setInterpolation(InterpolationMode mode) {
+        if (mode == null)
+            throw new IllegalArgumentException("Interpolation mode is null");
+
+        double[] fresh = null;
+        if (mode == InterpolationMode.NATURAL_SPLINE && pointsCount >= 2) {
+            fresh = HermiteSlopes.naturalSpline(xs, ys, pointsCount, xs.length);
+        } else if (mode != InterpolationMode.LINEAR) {
+            fresh = new double[xs.length];
+            if (pointsCount >= 2)
+                HermiteSlopes.local(mode, xs, ys, pointsCount, fresh, 0, pointsCount);
+        }
+        slopes = fresh;
+        interpolation = mode;
+    }
+
+    // Наклоны для текущего способа интерполяции (после изменения точек в окрестности [from, to)):
+    // локальные способы пересчитывают только эту окрестность, сплайн - все наклоны за O(n).
+    // Сплайн решается в новый массив и подставляется одним присваиванием
+    private void updateSlopes(int from, int to) {
+        if (interpolation == InterpolationMode.LINEAR || pointsCount < 2)
+            return;
+
+        if (interpolation == InterpolationMode.NATURAL_SPLINE) {
+            slopes = HermiteSlopes.naturalSpline(xs, ys, pointsCount, xs.length);
+        } else {
+            HermiteSlopes.local(interpolation, xs, ys, pointsCount, slopes,
+                                from - HermiteSlopes.LOCALITY, to + HermiteSlopes.LOCALITY);
+        }
+    }
+
+    // Интеграл интерполянта по [left, right] внутри области определения, без копирования точек
+    double integrate(double left, double right) {
+        return CumulativeIntegral.integrate(xs, ys, slopes, pointsCount, uniformStep, left, right);
+    }
+
+    // Копия наклонов в точках для кубических способов интерполяции, null для линейной
+    double[] hermiteSlopes() {
+        if (interpolation == InterpolationMode.LINEAR)
+            return null;
+        return Arrays.copyOf(slopes, pointsCount);
+    }
+
+    // Поиск индекса i такого, что xs[i] <= x <= xs[i + 1]
+    // (x должен лежать в [xs[0], xs[count - 1]]); step - шаг равномерной сетки или NaN
+    static int findSegment(double[] xs, int count, double step, double x) {
+        int last = count - 2;
+
+        // Для равномерной сетки индекс вычисляется напрямую за O(1)
+        if (!Double.isNaN(step)) {
+            int i = (int) ((x - xs[0]) / step);
+            if (i > last) i = last;
+            if (i < 0) i = 0;
+            // Поправка на ошибку округления при делении
+            if (x < xs[i] && i > 0) i--;
+            else if (x > xs[i + 1] && i < last) i++;
+            if (xs[i] <= x && x <= xs[i + 1])
+                return i;
+        }
+
+        // Двоичный поиск за O(log n)
+        int low = 0, high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    // Шаг сетки, если точки расположены равномерно, иначе NaN (проверка за O(n))
+    static double uniformStep(double[] xs, int count) {
+        if (count < 2)
+            return Double.NaN;
+
+        double step = (xs[count - 1] - xs[0]) / (count - 1);
+        for (int i = 1; i < count; i++) {
+            double expected = xs[0] + i * step;
+            if (Math.abs(xs[i] - expected) > 1e-9 * Math.max(1.0, Math.abs(expected)))
+                return Double.NaN;
+        }
+        return step;
+    }
+
+    @Override
+    public int getPointsCount() { return pointsCount; }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        double x = point.getX();
+        checkOrder(index, x);
+
+        if (x != xs[index])
+            uniformStep = Double.NaN;
+        xs[index] = x;
+        ys[index] = point.getY();
+        // Наклоны пересчитываются один раз, когда записаны обе координаты
+        updateSlopes(index, index + 1);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        checkOrder(index, x);
+
+        if (x != xs[index])
+            uniformStep = Double.NaN;
+        xs[index] = x;
+        updateSlopes(index, index + 1);
+    }
+
+    // Новая абсцисса точки index должна лежать строго между соседями
+    private void checkOrder(int index, double x) throws InappropriateFunctionPointException {
+        if ((index > 0 && x <= xs[index - 1]) ||
+            (index < pointsCount - 1 && x >= xs[index + 1])) {
+            throw new InappropriateFunctionPointException("Invalid X order");
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        ys[index] = y;
+        updateSlopes(index, index + 1);
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        checkIndex(index);
+        if (pointsCount < 3)
+            throw new IllegalStateException("Minimum 2 points required");
+
+        System.arraycopy(xs, index + 1, xs, index, pointsCount - index - 1);
+        System.arraycopy(ys, index + 1, ys, index, pointsCount - index - 1);
+        if (slopes != null)
+            System.arraycopy(slopes, index + 1, slopes, index, pointsCount - index - 1);
+        pointsCount--;
+        uniformStep = uniformStep(xs, pointsCount);
+        updateSlopes(index - 1, index + 1);
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Добавление в конец - частый случай при потоковом заполнении, поиск не нужен
+        int i = pointsCount;
+        if (pointsCount == 0 || x <= xs[pointsCount - 1]) {
+            // Позиция вставки - первый индекс с xs[i] >= x
+            int low = 0, high = pointsCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (xs[mid] < x) low = mid + 1;
+                else high = mid;
+            }
+            i = low;
+        }
+
+        if (i < pointsCount && Math.abs(xs[i] - x) < 1e-9)
+            throw new InappropriateFunctionPointException("Duplicate X coordinate");
+
+        ensureCapacity(pointsCount + 1);
+        System.arraycopy(xs, i, xs, i + 1, pointsCount - i);
+        System.arraycopy(ys, i, ys, i + 1, pointsCount - i);
+        if (slopes != null)
+            System.arraycopy(slopes, i, slopes, i + 1, pointsCount - i);
+        xs[i] = x;
+        ys[i] = point.getY();
+        pointsCount++;
+
+        if (i == pointsCount - 1 && pointsCount > 2) {
+            uniformStep = appendedStep(uniformStep, xs[0], i, x);
+        } else {
+            uniformStep = uniformStep(xs, pointsCount);
+        }
+        updateSlopes(i, i + 1);
+    }
+
+    // Пустая таблица заданной ёмкости для TabulatedFunctionBuilder
+    static PrimitiveArrayTabulatedFunction empty(int capacity) {
+        PrimitiveArrayTabulatedFunction function = new PrimitiveArrayTabulatedFunction();
+        function.xs = new double[capacity];
+        function.ys = new double[capacity];
+        return function;
+    }
+
+    // Добавление одной точки в конец: x должен быть больше последней точки таблицы
+    void appendPoint(double x, double y) throws InappropriateFunctionPointException {
+        if (pointsCount > 0)
+            checkOrder(xs[pointsCount - 1], x);
+        else if (Double.isNaN(x))
+            throw new InappropriateFunctionPointException("Points must be ordered by X");
+
+        ensureCapacity(pointsCount + 1);
+        xs[pointsCount] = x;
+        ys[pointsCount] = y;
+        pointsCount++;
+        uniformStep = pointsCount > 2 ? appendedStep(uniformStep, xs[0], pointsCount - 1, x)
+                                      : uniformStep(xs, pointsCount);
+        updateSlopes(pointsCount - 1, pointsCount);
+    }
+
+    // Добавление упорядоченной по x порции точек x[from..to), y[from..to) в конец таблицы.
+    // Все x должны быть больше последней точки таблицы; амортизированно O(1) на точку.
+    // Порция проверяется целиком до изменения таблицы
+    public void appendPoints(double[] x, double[] y, int from, int to) throws InappropriateFunctionPointException {
+        checkRange(x, y, from, to);
+        if (from == to)
+            return;
+
+        double last = pointsCount > 0 ? xs[pointsCount - 1] : Double.NEGATIVE_INFINITY;
+        for (int k = from; k < to; k++) {
+            checkOrder(last, x[k]);
+            last = x[k];
+        }
+
+        int start = pointsCount;
+        ensureCapacity(pointsCount + (to - from));
+        System.arraycopy(x, from, xs, pointsCount, to - from);
+        System.arraycopy(y, from, ys, pointsCount, to - from);
+        pointsCount += to - from;
+
+        if (start < 2) {
+            uniformStep = uniformStep(xs, pointsCount);
+        } else {
+            for (int i = start; i < pointsCount && !Double.isNaN(uniformStep); i++)
+                uniformStep = appendedStep(uniformStep, xs[0], i, xs[i]);
+        }
+        updateSlopes(start, pointsCount);
+    }
+
+    // Слияние неупорядоченной порции точек с таблицей: порция сортируется за O(k log k),
+    // затем сливается с хвостом таблицы начиная с первого затронутого индекса.
+    // Если все x порции правее таблицы, это обычное добавление в конец.
+    // Повтор x (в порции или с таблицей) - исключение, таблица при этом не меняется
+    public void mergePoints(double[] x, double[] y, int from, int to) throws InappropriateFunctionPointException {
+        checkRange(x, y, from, to);
+        int k = to - from;
+        if (k == 0)
+            return;
+
+        double[] bx = Arrays.copyOfRange(x, from, to);
+        double[] by = Arrays.copyOfRange(y, from, to);
+        for (int j = 0; j < k; j++) {
+            if (Double.isNaN(bx[j]))
+                throw new InappropriateFunctionPointException("Points must be ordered by X");
+        }
+        sortByX(bx, by, k);
+        for (int j = 1; j < k; j++) {
+            if (bx[j] - bx[j - 1] < 1e-9)
+                throw new InappropriateFunctionPointException("Duplicate X coordinate");
+        }
+
+        if (pointsCount == 0 || bx[0] > xs[pointsCount - 1]) {
+            appendPoints(bx, by, 0, k);
+            return;
+        }
+
+        // Первый индекс таблицы, который сдвигается слиянием
+        int low = 0, high = pointsCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < bx[0]) low = mid + 1;
+            else high = mid;
+        }
+        int first = low;
+        if (first > 0 && bx[0] - xs[first - 1] < 1e-9)
+            throw new InappropriateFunctionPointException("Duplicate X coordinate");
+
+        // Проверка совпадений до изменения таблицы
+        for (int i = first, j = 0; i < pointsCount && j < k; ) {
+            if (Math.abs(xs[i] - bx[j]) < 1e-9)
+                throw new InappropriateFunctionPointException("Duplicate X coordinate");
+            if (xs[i] < bx[j]) i++;
+            else j++;
+        }
+
+        // Слияние с конца на месте: каждый элемент перемещается один раз
+        ensureCapacity(pointsCount + k);
+        int i = pointsCount - 1, j = k - 1;
+        for (int w = pointsCount + k - 1; j >= 0; w--) {
+            if (i >= first && xs[i] > bx[j]) {
+                xs[w] = xs[i];
+                ys[w] = ys[i];
+                i--;
+            } else {
+                xs[w] = bx[j];
+                ys[w] = by[j];
+                j--;
+            }
+        }
+        pointsCount += k;
+
+        // Пересчёт шага стоил бы O(n) даже для слияния у самого хвоста: сетка считается
+        // неравномерной (это влияет только на скорость поиска), а TabulatedFunctionBuilder.build()
+        // пересчитывает шаг один раз
+        uniformStep = first > 0 ? Double.NaN : uniformStep(xs, pointsCount);
+        updateSlopes(first, pointsCount);
+    }
+
+    // Пересчёт шага сетки за O(n)
+    void updateUniformStep() {
+        uniformStep = uniformStep(xs, pointsCount);
+    }
+
+    private static void checkRange(double[] x, double[] y, int from, int to) {
+        if (from < 0 || from > to || to > x.length || to > y.length)
+            throw new IllegalArgumentException("Invalid range: [" + from + ", " + to + ")");
+    }
+
+    private static void checkOrder(double last, double x) throws InappropriateFunctionPointException {
+        if (!(x > last))
+            throw new InappropriateFunctionPointException("Points must be ordered by X");
+        if (x - last < 1e-9)
+            throw new InappropriateFunctionPointException("Duplicate X coordinate");
+    }
+
+    // Сортировка слиянием пар (x, y) по x; уже упорядоченная порция проверяется за O(k)
+    private static void sortByX(double[] x, double[] y, int count) {
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++)
+            sorted = x[i - 1] <= x[i];
+        if (sorted)
+            return;
+
+        double[] srcX = x, srcY = y;
+        double[] dstX = new double[count], dstY = new double[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int left = 0; left < count; left += width << 1) {
+                int mid = Math.min(left + width, count);
+                int right = Math.min(left + (width << 1), count);
+                int a = left, b = mid;
+                for (int w = left; w < right; w++) {
+                    if (b >= right || (a < mid && srcX[a] <= srcX[b])) {
+                        dstX[w] = srcX[a];
+                        dstY[w] = srcY[a++];
+                    } else {
+                        dstX[w] = srcX[b];
+                        dstY[w] = srcY[b++];
+                    }
+                }
+            }
+            double[] t = srcX; srcX = dstX; dstX = t;
+            t = srcY; srcY = dstY; dstY = t;
+        }
+        if (srcX != x) {
+            System.arraycopy(srcX, 0, x, 0, count);
+            System.arraycopy(srcY, 0, y, 0, count);
+        }
+    }
+
+    // Геометрический рост ёмкости: добавление N точек - O(N) копирований в сумме
+    void ensureCapacity(int capacity) {
+        if (capacity > xs.length) {
+            int grown = Math.max(capacity, xs.length + (xs.length >> 1) + 10);
+            xs = Arrays.copyOf(xs, grown);
+            ys = Arrays.copyOf(ys, grown);
+            if (slopes != null)
+                slopes = Arrays.copyOf(slopes, grown);
+        }
+    }
+
+    // Шаг сетки после добавления точки x с индексом index в конец за O(1):
+    // сетка остаётся равномерной, только если x лежит на её продолжении
+    static double appendedStep(double step, double leftX, int index, double x) {
+        if (Double.isNaN(step))
+            return Double.NaN;
+        double expected = leftX + index * step;
+        if (Math.abs(x - expected) > 1e-9 * Math.max(1.0, Math.abs(expected)))
+            return Double.NaN;
+        return step;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount)
+            throw new FunctionPointIndexOutOfBoundsException("Index: " + index);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("(").append(xs[i]).append("; ").append(ys[i]).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    // Сравнение точек с той же точностью 1e-9, что и в FunctionPoint.equals
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o instanceof TabulatedFunction) {
+            TabulatedFunction other = (TabulatedFunction) o;
+
+            if (this.getPointsCount() != other.getPointsCount()) {
+                return false;
+            }
+
+            for (int i = 0; i < pointsCount; i++) {
+                if (Math.abs(xs[i] - other.getPointX(i)) >= 1e-9 ||
+                    Math.abs(ys[i] - other.getPointY(i)) >= 1e-9) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Совпадает с ArrayTabulatedFunction.hashCode(): FunctionPoint.hashCode() = Objects.hash(x, y)
+    @Override
+    public int hashCode() {
+        int hash = pointsCount;
+        for (int i = 0; i < pointsCount; i++) {
+            hash ^= 31 * (31 + Double.hashCode(xs[i])) + Double.hashCode(ys[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            PrimitiveArrayTabulatedFunction clone = (PrimitiveArrayTabulatedFunction) super.clone();
+            clone.xs = this.xs.clone();
+            clone.ys = this.ys.clone();
+            if (this.slopes != null)
+                clone.slopes = this.slopes.clone();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package functions;
+
+import java.nio.DoubleBuffer;
+import java.util.concurrent.RecursiveAction;
+
+// Задача fork-join для параллельного табулирования.
+// Заполняет точки с индексами [from, to): x_i = left + i * step, y_i = f(x_i).
+// Формула узла и вычисление через f.evaluate те же, что в TabulatedFunctions.tabulate,
+// поэтому результат совпадает с последовательным побитово при любом числе потоков.
+// Точки пишутся либо в массивы xs/ys, либо в отображённые столбцы MappedTabulatedFunction
+class TabulateTask extends RecursiveAction {
+    private final Function f;
+    private final double left;
+    private final double step;
+    private final int from;
+    private final int to;
+    // Диапазон из не более чем threshold точек вычисляется без разбиения
+    private final int threshold;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final DoubleBuffer[] xColumn;
+    private final DoubleBuffer[] yColumn;
+
+    TabulateTask(Function f, double left, double step, int from, int to, int threshold,
+                 double[] xs, double[] ys, DoubleBuffer[] xColumn, DoubleBuffer[] yColumn) {
+        this.f = f;
+        this.left = left;
+        this.step = step;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.xs = xs;
+        this.ys = ys;
+        this.xColumn = xColumn;
+        this.yColumn = yColumn;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            if (xs != null) {
+                fillArrays();
+            } else {
+                fillColumns();
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        invokeAll(new TabulateTask(f, left, step, from, middle, threshold, xs, ys, xColumn, yColumn),
+                  new TabulateTask(f, left, step, middle, to, threshold, xs, ys, xColumn, yColumn));
+    }
+
+    // Массивы таблицы заполняются на месте, без промежуточных буферов
+    private void fillArrays() {
+        for (int i = from; i < to; i++) {
+            xs[i] = left + i * step;
+        }
+        for (int start = from; start < to; start += Functions.EVALUATION_BLOCK) {
+            f.evaluate(xs, ys, start, Math.min(to, start + Functions.EVALUATION_BLOCK));
+        }
+    }
+
+    private void fillColumns() {
+        int blockSize = Math.min(Functions.EVALUATION_BLOCK, to - from);
+        double[] x = new double[blockSize];
+        double[] y = new double[blockSize];
+
+        for (int start = from; start < to; start += blockSize) {
+            int count = Math.min(blockSize, to - start);
+            for (int i = 0; i < count; i++) {
+                x[i] = left + (start + i) * step;
+            }
+            f.evaluate(x, y, 0, count);
+            MappedTabulatedFunction.put(xColumn, start, x, count);
+            MappedTabulatedFunction.put(yColumn, start, y, count);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package functions;
 
+import java.util.NoSuchElementException;
+
 public interface TabulatedFunction extends Function, Cloneable {
     // Задание 4: Добавляем метод clone() в интерфейс
     Object clone();
@@ -17,4 +19,57 @@ public interface TabulatedFunction extends Function, Cloneable {
     void deletePoint(int index) 
         throws FunctionPointIndexOutOfBoundsException, IllegalStateException;
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
+    
+    // Итератор по точкам, начиная с точки index (0..getPointsCount()).
+    // Реализация по умолчанию работает через getPointX/getPointY и подходит
+    // для хранилищ с доступом по индексу за O(1)
+    default TabulatedPointIterator pointIterator(int index) {
+        if (index < 0 || index > getPointsCount())
+            throw new FunctionPointIndexOutOfBoundsException("Index: " + index);
+        
+        return new TabulatedPointIterator() {
+            private int cursor = index;
+            private int current = -1;
+            
+            @Override
+            public boolean hasNext() { return cursor < getPointsCount(); }
+            
+            @Override
+            public boolean hasPrevious() { return cursor > 0; }
+            
+            @Override
+            public int nextIndex() { return cursor; }
+            
+            @Override
+            public int previousIndex() { return cursor - 1; }
+            
+            @Override
+            public void next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                current = cursor++;
+            }
+            
+            @Override
+            public void previous() {
+                if (!hasPrevious()) throw new NoSuchElementException();
+                current = --cursor;
+            }
+            
+            @Override
+            public double getX() {
+                if (current < 0) throw new IllegalStateException();
+                return getPointX(current);
+            }
+            
+            @Override
+            public double getY() {
+                if (current < 0) throw new IllegalStateException();
+                return getPointY(current);
+            }
+        };
+    }
+    
+    default TabulatedPointIterator pointIterator() {
+        return pointIterator(0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package functions;
+
+// Потоковое построение табулированной функции: точки поступают по одной или порциями,
+// ёмкость растёт геометрически, поэтому добавление в конец стоит O(1) амортизированно.
+// Неупорядоченные порции сливаются с уже накопленными точками (mergePoints).
+// build() передаёт массивы готовой функции без копирования; дальше её можно пополнять
+// через PrimitiveArrayTabulatedFunction.appendPoints/mergePoints
+public class TabulatedFunctionBuilder {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int initialCapacity;
+    private PrimitiveArrayTabulatedFunction table;
+
+    public TabulatedFunctionBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TabulatedFunctionBuilder(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        this.initialCapacity = initialCapacity;
+        this.table = PrimitiveArrayTabulatedFunction.empty(initialCapacity);
+    }
+
+    // Добавление точки в конец: x должен быть больше всех накопленных
+    public TabulatedFunctionBuilder append(double x, double y) throws InappropriateFunctionPointException {
+        table.appendPoint(x, y);
+        return this;
+    }
+
+    // Добавление упорядоченной по x порции в конец
+    public TabulatedFunctionBuilder append(double[] x, double[] y) throws InappropriateFunctionPointException {
+        return append(x, y, 0, x.length);
+    }
+
+    public TabulatedFunctionBuilder append(double[] x, double[] y, int from, int to)
+            throws InappropriateFunctionPointException {
+        table.appendPoints(x, y, from, to);
+        return this;
+    }
+
+    // Слияние порции в произвольном порядке
+    public TabulatedFunctionBuilder merge(double[] x, double[] y) throws InappropriateFunctionPointException {
+        return merge(x, y, 0, x.length);
+    }
+
+    public TabulatedFunctionBuilder merge(double[] x, double[] y, int from, int to)
+            throws InappropriateFunctionPointException {
+        table.mergePoints(x, y, from, to);
+        return this;
+    }
+
+    public int size() {
+        return table.getPointsCount();
+    }
+
+    // Готовая функция; построитель после этого снова пуст
+    public PrimitiveArrayTabulatedFunction build() {
+        if (table.getPointsCount() < 2)
+            throw new IllegalStateException("At least 2 points required");
+
+        PrimitiveArrayTabulatedFunction result = table;
+        result.updateUniformStep();
+        table = PrimitiveArrayTabulatedFunction.empty(initialCapacity);
+        return result;
+    }
+}
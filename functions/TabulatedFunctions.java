@@ -1,6 +1,13 @@
 package functions;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 public class TabulatedFunctions {
     // Приватный конструктор, чтобы нельзя было создать экземпляр класса
@@ -17,16 +24,146 @@ public class TabulatedFunctions {
         double[] values = new double[pointsCount];
         double step = (rightX - leftX) / (pointsCount - 1);
         
-        // Вычисление значений функции в точках
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = function.getFunctionValue(x);
+        // Вычисление значений функции в точках блоками через function.evaluate
+        double[] xs = new double[Math.min(pointsCount, Functions.EVALUATION_BLOCK)];
+        for (int start = 0; start < pointsCount; start += xs.length) {
+            int count = Math.min(xs.length, pointsCount - start);
+            for (int i = 0; i < count; i++) {
+                xs[i] = leftX + (start + i) * step;
+            }
+            function.evaluate(xs, xs, 0, count);
+            System.arraycopy(xs, 0, values, start, count);
         }
         
         // Используем ArrayTabulatedFunction по умолчанию
         return new ArrayTabulatedFunction(leftX, rightX, values);
     }
     
+    // Число точек, которые одна подзадача параллельного табулирования вычисляет без разбиения
+    public static final int TABULATE_THRESHOLD = 1 << 14;
+
+    // Параллельное табулирование в общем пуле fork-join. Результат побитово совпадает
+    // с tabulate, точки пишутся прямо в массивы PrimitiveArrayTabulatedFunction.
+    // Функция должна допускать одновременные вызовы из нескольких потоков
+    public static PrimitiveArrayTabulatedFunction tabulateParallel(Function function, double leftX, double rightX,
+                                                                   int pointsCount) {
+        return tabulateParallel(function, leftX, rightX, pointsCount, TABULATE_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    // Параллельное табулирование в заданном пуле: диапазоны индексов делятся пополам,
+    // пока в них больше threshold точек (при pointsCount <= threshold - в вызывающем потоке)
+    public static PrimitiveArrayTabulatedFunction tabulateParallel(Function function, double leftX, double rightX,
+                                                                   int pointsCount, int threshold, ForkJoinPool pool) {
+        checkTabulateArguments(function, leftX, rightX, pointsCount, threshold);
+
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        TabulateTask task = new TabulateTask(function, leftX, step, 0, pointsCount, threshold, xs, ys, null, null);
+        if (pointsCount <= threshold) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return PrimitiveArrayTabulatedFunction.wrap(xs, ys, pointsCount);
+    }
+
+    // Параллельное табулирование в файл формата MappedTabulatedFunction: значения пишутся
+    // прямо в отображённую память, таблица может быть больше кучи
+    public static MappedTabulatedFunction tabulateParallel(Function function, double leftX, double rightX,
+                                                           int pointsCount, Path file) throws IOException {
+        return tabulateParallel(function, leftX, rightX, pointsCount, file, TABULATE_THRESHOLD,
+                                ForkJoinPool.commonPool());
+    }
+
+    public static MappedTabulatedFunction tabulateParallel(Function function, double leftX, double rightX,
+                                                           int pointsCount, Path file, int threshold,
+                                                           ForkJoinPool pool) throws IOException {
+        checkTabulateArguments(function, leftX, rightX, pointsCount, threshold);
+
+        double step = (rightX - leftX) / (pointsCount - 1);
+        DoubleBuffer[][] columns = MappedTabulatedFunction.create(file, pointsCount, leftX, step);
+        TabulateTask task = new TabulateTask(function, leftX, step, 0, pointsCount, threshold,
+                                             null, null, columns[0], columns[1]);
+        if (pointsCount <= threshold) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return MappedTabulatedFunction.open(file);
+    }
+
+    private static void checkTabulateArguments(Function function, double leftX, double rightX, int pointsCount,
+                                               int threshold) {
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал табулирования находится за пределами области определения функции");
+        }
+        if (leftX >= rightX || pointsCount < 2) {
+            throw new IllegalArgumentException("Invalid domain or points count");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Порог разбиения должен быть положительным");
+        }
+    }
+
+    // Сжатие таблицы: наименьший по методу Рамера-Дугласа-Пекера набор исходных точек,
+    // линейная интерполяция по которому отклоняется от каждой исходной точки по y не
+    // больше чем на tolerance. Крайние точки и точки со значением NaN сохраняются.
+    // Обычно O(n log n), в худшем случае O(n^2); большие таблицы обрабатываются в общем пуле
+    public static CompactionResult compact(TabulatedFunction function, double tolerance) {
+        return compact(function, tolerance, ForkJoinPool.commonPool());
+    }
+
+    public static CompactionResult compact(TabulatedFunction function, double tolerance, ForkJoinPool pool) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть неотрицательной");
+        }
+
+        int count = function.getPointsCount();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        TabulatedPointIterator it = function.pointIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            it.next();
+            xs[i] = it.getX();
+            ys[i] = it.getY();
+        }
+
+        boolean[] keep = new boolean[count];
+        keep[0] = true;
+        keep[count - 1] = true;
+        CompactTask task = new CompactTask(xs, ys, keep, tolerance, 0, count - 1);
+        if (count <= CompactTask.THRESHOLD) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+
+        // Сохранённые точки и фактическая погрешность за один проход
+        int kept = 0;
+        double maxError = 0;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            if (!keep[i]) {
+                continue;
+            }
+            for (int k = previous + 1; k < i; k++) {
+                double error = Math.abs(ys[k] - (ys[previous] + (ys[i] - ys[previous]) * (xs[k] - xs[previous])
+                                                                   / (xs[i] - xs[previous])));
+                maxError = Math.max(maxError, error);
+            }
+            xs[kept] = xs[i];
+            ys[kept] = ys[i];
+            kept++;
+            previous = i;
+        }
+
+        // Массивы обрезаются до сохранённых точек, иначе таблица держала бы память исходной
+        return new CompactionResult(PrimitiveArrayTabulatedFunction.wrap(Arrays.copyOf(xs, kept),
+                                                                         Arrays.copyOf(ys, kept), kept),
+                                    count, maxError);
+    }
+
     // Задание 7: методы ввода/вывода
     
     // Метод для записи табулированной функции в байтовый поток
@@ -36,11 +173,12 @@ public class TabulatedFunctions {
         // Записываем количество точек
         dos.writeInt(function.getPointsCount());
         
-        // Записываем координаты всех точек
-        for (int i = 0; i < function.getPointsCount(); i++) {
-            FunctionPoint point = function.getPoint(i);
-            dos.writeDouble(point.getX());
-            dos.writeDouble(point.getY());
+        // Записываем координаты всех точек (итератор обходит любую реализацию за O(n))
+        TabulatedPointIterator it = function.pointIterator();
+        while (it.hasNext()) {
+            it.next();
+            dos.writeDouble(it.getX());
+            dos.writeDouble(it.getY());
         }
         
         dos.flush();
@@ -65,45 +203,167 @@ public class TabulatedFunctions {
         return new ArrayTabulatedFunction(points);
     }
     
+    // Размер прямого буфера для обмена с каналами
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+    
+    // Запись в канал в том же формате, что и outputTabulatedFunction(..., OutputStream):
+    // int число точек, затем пары x, y (big-endian). Координаты переносятся в прямой
+    // буфер блоками через DoubleBuffer
+    public static void outputTabulatedFunction(TabulatedFunction function, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        double[] block = new double[CHANNEL_BUFFER_SIZE / 8];
+        
+        buffer.putInt(function.getPointsCount());
+        
+        TabulatedPointIterator it = function.pointIterator();
+        while (it.hasNext()) {
+            // Заполняем блок парами x, y, сколько поместится в буфер
+            int count = 0;
+            int capacity = (buffer.remaining() / 16) * 2;
+            while (count < capacity && it.hasNext()) {
+                it.next();
+                block[count++] = it.getX();
+                block[count++] = it.getY();
+            }
+            
+            buffer.asDoubleBuffer().put(block, 0, count);
+            buffer.position(buffer.position() + count * 8);
+            
+            if (buffer.remaining() < 16) {
+                buffer.flip();
+                writeFully(out, buffer);
+                buffer.clear();
+            }
+        }
+        
+        buffer.flip();
+        writeFully(out, buffer);
+    }
+    
+    // Чтение из канала в формате inputTabulatedFunction(InputStream). Координаты
+    // читаются блоками прямо в массивы PrimitiveArrayTabulatedFunction, без объектов
+    // FunctionPoint и повторного копирования
+    public static TabulatedFunction inputTabulatedFunction(ReadableByteChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        double[] block = new double[CHANNEL_BUFFER_SIZE / 8];
+        
+        fill(in, buffer, 4);
+        int pointsCount = buffer.getInt();
+        if (pointsCount < 0) {
+            throw new IOException("Некорректное число точек: " + pointsCount);
+        }
+        
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        long total = 2L * pointsCount;
+        
+        for (long read = 0; read < total; ) {
+            int count = (int) Math.min(block.length, total - read);
+            buffer.compact();
+            fill(in, buffer, count * 8);
+            
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            doubles.get(block, 0, count);
+            buffer.position(buffer.position() + count * 8);
+            
+            // Значения в блоке чередуются: x, y; read всегда чётно, блок содержит целые пары
+            int index = (int) (read / 2);
+            for (int i = 0; i < count; i += 2, index++) {
+                xs[index] = block[i];
+                ys[index] = block[i + 1];
+            }
+            read += count;
+        }
+        
+        return PrimitiveArrayTabulatedFunction.wrap(xs, ys, pointsCount);
+    }
+    
+    // Дочитывает в буфер ровно до bytes байт; буфер переводится в режим чтения.
+    // Предел буфера не пускает чтение дальше таблицы: данные после неё остаются в канале
+    private static void fill(ReadableByteChannel in, ByteBuffer buffer, int bytes) throws IOException {
+        // После compact() буфер в режиме записи, уже прочитанные байты в начале
+        buffer.limit(bytes);
+        while (buffer.position() < bytes) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("Неожиданный конец данных");
+            }
+        }
+        buffer.flip();
+    }
+    
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+    
     // Метод для записи табулированной функции в символьный поток
     public static void writeTabulatedFunction(TabulatedFunction function, Writer out) throws IOException {
-        PrintWriter writer = new PrintWriter(out);
+        TabulatedTextWriter writer = new TabulatedTextWriter(out);
         
         // Записываем количество точек
-        writer.print(function.getPointsCount());
+        writer.writeCount(function.getPointsCount());
         
         // Записываем координаты всех точек через пробелы
-        for (int i = 0; i < function.getPointsCount(); i++) {
-            FunctionPoint point = function.getPoint(i);
-            writer.print(" " + point.getX() + " " + point.getY());
+        TabulatedPointIterator it = function.pointIterator();
+        while (it.hasNext()) {
+            it.next();
+            writer.writePoint(it.getX(), it.getY());
         }
         
         writer.flush();
     }
     
-    // Метод для чтения табулированной функции из символьного потока
+    // Потоковое табулирование сразу в символьный поток: значения вычисляются блоками
+    // и записываются без создания табулированной функции в памяти
+    public static void writeTabulatedFunction(Function function, double leftX, double rightX, int pointsCount, 
+                                              Writer out) throws IOException {
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал табулирования находится за пределами области определения функции");
+        }
+        if (leftX >= rightX || pointsCount < 2) {
+            throw new IllegalArgumentException("Неверная область определения или количество точек");
+        }
+        
+        TabulatedTextWriter writer = new TabulatedTextWriter(out);
+        writer.writeCount(pointsCount);
+        
+        double step = (rightX - leftX) / (pointsCount - 1);
+        double[] xs = new double[Math.min(pointsCount, Functions.EVALUATION_BLOCK)];
+        double[] values = new double[xs.length];
+        for (int start = 0; start < pointsCount; start += xs.length) {
+            int count = Math.min(xs.length, pointsCount - start);
+            for (int i = 0; i < count; i++) {
+                xs[i] = leftX + (start + i) * step;
+            }
+            function.evaluate(xs, values, 0, count);
+            for (int i = 0; i < count; i++) {
+                writer.writePoint(xs[i], values[i]);
+            }
+        }
+        
+        writer.flush();
+    }
+    
+    // Метод для чтения табулированной функции из символьного потока.
+    // Числа разбираются TabulatedTextReader (включая экспоненциальную запись),
+    // координаты сразу попадают в массивы PrimitiveArrayTabulatedFunction.
+    // Данные после таблицы остаются в потоке, если он поддерживает mark/reset
     public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
-        StreamTokenizer tokenizer = new StreamTokenizer(in);
-        tokenizer.parseNumbers(); // Указываем, что нужно парсить числа
+        TabulatedTextReader reader = new TabulatedTextReader(in);
         
         // Читаем количество точек
-        tokenizer.nextToken();
-        int pointsCount = (int)tokenizer.nval;
+        int pointsCount = reader.readCount();
         
         // Читаем координаты всех точек
-        FunctionPoint[] points = new FunctionPoint[pointsCount];
-        
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
         for (int i = 0; i < pointsCount; i++) {
-            tokenizer.nextToken();
-            double x = tokenizer.nval;
-            
-            tokenizer.nextToken();
-            double y = tokenizer.nval;
-            
-            points[i] = new FunctionPoint(x, y);
+            xs[i] = reader.readDouble();
+            ys[i] = reader.readDouble();
         }
+        reader.unreadRest();
         
-        // Используем ArrayTabulatedFunction по умолчанию
-        return new ArrayTabulatedFunction(points);
+        return PrimitiveArrayTabulatedFunction.wrap(xs, ys, pointsCount);
     }
 }
\ No newline at end of file
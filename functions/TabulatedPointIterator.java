@@ -0,0 +1,20 @@
+package functions;
+
+// Двунаправленный обход точек табулированной функции без создания объектов FunctionPoint.
+// Курсор находится между точками (как у java.util.ListIterator): next()/previous()
+// переходят через соседнюю точку, после чего её координаты доступны через getX()/getY()
+public interface TabulatedPointIterator {
+    boolean hasNext();
+    boolean hasPrevious();
+
+    // Индексы точек, через которые перейдут next() и previous()
+    int nextIndex();
+    int previousIndex();
+
+    void next();
+    void previous();
+
+    // Координаты точки, через которую прошёл последний вызов next() или previous()
+    double getX();
+    double getY();
+}
@@ -0,0 +1,202 @@
+package functions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+// Потоковый разбор текстового формата табулированной функции ("n x0 y0 x1 y1 ...").
+// Лексемы - последовательности символов больше пробела (управляющие символы и пробел
+// разделяют лексемы, как в StreamTokenizer), читаются из собственного буфера.
+// Числа в простой десятичной записи (до 2^53 в мантиссе, порядок до 22) переводятся
+// точно одним умножением или делением на степень 10, остальные (длинные мантиссы,
+// большие порядки, NaN, Infinity) - через Double.parseDouble. Оба пути дают
+// корректно округлённый double, поэтому вывод Double.toString читается без потерь.
+// Буфер заполняется с запасом, дальше последней нужной лексемы. Если поток поддерживает
+// mark/reset (BufferedReader, StringReader), unreadRest() возвращает непрочитанный остаток
+// в поток; иначе читатель владеет потоком, и данные после таблицы теряются
+public class TabulatedTextReader {
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    
+    private final Reader in;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    // Начало в буфере символов, прочитанных последним обращением к потоку (после mark)
+    private int readFrom;
+    
+    public TabulatedTextReader(Reader in) {
+        this(in, 1 << 16);
+    }
+    
+    public TabulatedTextReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buffer = new char[bufferSize];
+    }
+    
+    // Чтение числа точек: целое без дробной части
+    public int readCount() throws IOException {
+        int length = nextToken();
+        int start = position - length;
+        
+        long value = 0;
+        for (int i = start; i < position; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9' || value > Integer.MAX_VALUE) {
+                throw new IOException("Некорректное число точек: " + new String(buffer, start, length));
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Некорректное число точек: " + new String(buffer, start, length));
+        }
+        return (int) value;
+    }
+    
+    // Чтение очередного числа с плавающей точкой
+    public double readDouble() throws IOException {
+        int length = nextToken();
+        int start = position - length;
+        
+        double value = parseSimple(start, position);
+        if (!Double.isNaN(value)) {
+            return value;
+        }
+        
+        try {
+            return Double.parseDouble(new String(buffer, start, length));
+        } catch (NumberFormatException e) {
+            throw new IOException("Некорректное число: " + new String(buffer, start, length));
+        }
+    }
+    
+    // Быстрый точный разбор [+-]digits[.digits][(e|E)[+-]digits]; NaN, если нужен общий путь
+    private double parseSimple(int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        
+        for (; i < to && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+            any = true;
+            if (mantissa == 0 && buffer[i] == '0') continue;
+            if (++digits > 18) return Double.NaN;
+            mantissa = mantissa * 10 + (buffer[i] - '0');
+        }
+        if (i < to && buffer[i] == '.') {
+            for (i++; i < to && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                any = true;
+                exponent--;
+                if (mantissa == 0 && buffer[i] == '0') continue;
+                if (++digits > 18) return Double.NaN;
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+            }
+        }
+        if (!any) return Double.NaN;
+        
+        if (i < to && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            if (i == to) return Double.NaN;
+            int value = 0;
+            for (; i < to && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                if (value > 1000) return Double.NaN;
+                value = value * 10 + (buffer[i] - '0');
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != to) return Double.NaN;
+        
+        double result;
+        if (mantissa == 0) {
+            result = 0.0;
+        } else if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return Double.NaN;
+        } else if (exponent >= 0) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        }
+        return negative ? -result : result;
+    }
+    
+    // Пропуск пробельных символов и чтение лексемы; возвращает её длину,
+    // лексема занимает buffer[position - length, position)
+    private int nextToken() throws IOException {
+        while (true) {
+            while (position < limit && buffer[position] <= ' ') position++;
+            if (position < limit) break;
+            if (!refill(0)) throw new EOFException("Неожиданный конец данных");
+        }
+        
+        int start = position;
+        while (true) {
+            while (position < limit && buffer[position] > ' ') position++;
+            if (position < limit) break;
+            
+            // Лексема дошла до конца буфера: переносим её в начало и дочитываем
+            int length = position - start;
+            if (length == buffer.length) {
+                throw new IOException("Слишком длинная лексема");
+            }
+            System.arraycopy(buffer, start, buffer, 0, length);
+            position = length;
+            limit = length;
+            start = 0;
+            if (!refill(length)) break;
+        }
+        return position - start;
+    }
+    
+    // Возврат в поток символов буфера после последней прочитанной лексемы (при поддержке
+    // mark/reset); следующее чтение продолжится с этого места
+    public void unreadRest() throws IOException {
+        if (!in.markSupported() || position == limit) {
+            return;
+        }
+        in.reset();
+        long skip = position - readFrom;
+        while (skip > 0) {
+            long skipped = in.skip(skip);
+            if (skipped <= 0) {
+                throw new EOFException("Неожиданный конец данных");
+            }
+            skip -= skipped;
+        }
+        position = 0;
+        limit = 0;
+        readFrom = 0;
+    }
+    
+    // Дочитывание данных после первых keep символов буфера; false в конце потока
+    private boolean refill(int keep) throws IOException {
+        if (keep == 0) {
+            position = 0;
+            limit = 0;
+        }
+        readFrom = keep;
+        if (in.markSupported()) {
+            in.mark(buffer.length - keep);
+        }
+        int read = in.read(buffer, keep, buffer.length - keep);
+        if (read <= 0) {
+            return false;
+        }
+        limit = keep + read;
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Запись текстового формата табулированной функции ("n x0 y0 x1 y1 ...") через
+// повторно используемый буфер: числа добавляются в StringBuilder без создания
+// промежуточных строк и передаются в Writer блоками
+public class TabulatedTextWriter {
+    private static final int FLUSH_THRESHOLD = 1 << 15;
+    
+    private final Writer out;
+    private final StringBuilder text = new StringBuilder(FLUSH_THRESHOLD + 64);
+    private final char[] chars = new char[FLUSH_THRESHOLD + 64];
+    
+    public TabulatedTextWriter(Writer out) {
+        this.out = out;
+    }
+    
+    public void writeCount(int count) throws IOException {
+        text.append(count);
+        flushIfFull();
+    }
+    
+    // Точка записывается как " x y"; Double.toString однозначно восстанавливается при чтении
+    public void writePoint(double x, double y) throws IOException {
+        text.append(' ').append(x).append(' ').append(y);
+        flushIfFull();
+    }
+    
+    // Передача накопленного текста в Writer и его сброс
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+    
+    private void flushIfFull() throws IOException {
+        if (text.length() >= FLUSH_THRESHOLD) {
+            drain();
+        }
+    }
+    
+    private void drain() throws IOException {
+        int length = text.length();
+        char[] target = length <= chars.length ? chars : new char[length];
+        text.getChars(0, length, target, 0);
+        out.write(target, 0, length);
+        text.setLength(0);
+    }
+}
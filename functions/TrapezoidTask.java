@@ -0,0 +1,81 @@
+package functions;
+
+import java.util.concurrent.RecursiveTask;
+
+// Задача fork-join для параллельного метода трапеций.
+// Суммирует w_k * f(left + k * step) по индексам [from, to) (w_0 = 1/2, остальные
+// веса равны 1; вес последнего узла сетки учитывает вызывающий код).
+// Каждая точка вычисляется ровно один раз.
+// Разбиение зависит только от числа точек, поэтому результат не зависит от числа потоков.
+// Результат - пара {сумма, компенсация} суммирования Ноймайера
+class TrapezoidTask extends RecursiveTask<double[]> {
+    // Число точек, которые вычисляются в одной подзадаче без дальнейшего разбиения
+    static final long CHUNK = 1 << 14;
+    
+    private final Function f;
+    private final double left;
+    private final double step;
+    private final long from;
+    private final long to;
+    
+    TrapezoidTask(Function f, double left, double step, long from, long to) {
+        this.f = f;
+        this.left = left;
+        this.step = step;
+        this.from = from;
+        this.to = to;
+    }
+    
+    @Override
+    protected double[] compute() {
+        if (to - from <= CHUNK) {
+            double[] acc = new double[2];
+            int blockSize = (int) Math.min(Functions.EVALUATION_BLOCK, to - from);
+            double[] xs = new double[blockSize];
+            double[] values = new double[blockSize];
+            
+            for (long start = from; start < to; start += blockSize) {
+                int count = (int) Math.min(blockSize, to - start);
+                for (int i = 0; i < count; i++) {
+                    xs[i] = left + (start + i) * step;
+                }
+                f.evaluate(xs, values, 0, count);
+                for (int i = 0; i < count; i++) {
+                    add(acc, (start + i == 0) ? values[i] / 2.0 : values[i]);
+                }
+            }
+            return acc;
+        }
+        
+        long middle = from + (to - from) / 2;
+        TrapezoidTask leftPart = new TrapezoidTask(f, left, step, from, middle);
+        TrapezoidTask rightPart = new TrapezoidTask(f, left, step, middle, to);
+        leftPart.fork();
+        double[] acc = rightPart.compute();
+        double[] leftAcc = leftPart.join();
+        
+        // Объединение в фиксированном порядке: сначала левая часть, затем правая
+        double[] result = new double[2];
+        add(result, leftAcc[0]);
+        add(result, acc[0]);
+        result[1] += leftAcc[1] + acc[1];
+        return result;
+    }
+    
+    // Компенсированное сложение Ноймайера: acc[0] - сумма, acc[1] - накопленная погрешность
+    static void add(double[] acc, double value) {
+        double sum = acc[0];
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            acc[1] += (sum - t) + value;
+        } else {
+            acc[1] += (value - t) + sum;
+        }
+        acc[0] = t;
+    }
+    
+    // Итоговое значение компенсированной суммы
+    static double total(double[] acc) {
+        return Double.isInfinite(acc[0]) ? acc[0] : acc[0] + acc[1];
+    }
+}
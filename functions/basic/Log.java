@@ -33,6 +33,16 @@ public class Log implements Function {
         return Math.log(x) / Math.log(base);
     }
     
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        // Логарифм основания вычисляется один раз на весь блок
+        double lnBase = Math.log(base);
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            out[i] = (x <= 0) ? Double.NaN : Math.log(x) / lnBase;
+        }
+    }
+    
     // Геттер для основания логарифма
     public double getBase() {
         return base;
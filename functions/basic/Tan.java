@@ -10,4 +10,12 @@ public class Tan extends TrigonometricFunction {
         }
         return Math.tan(x);
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            out[i] = (Math.abs(Math.cos(x)) < 1e-9) ? Double.NaN : Math.tan(x);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package functions.meta;
+
+import functions.Function;
+import java.util.concurrent.atomic.LongAdder;
+
+// Кэширующая обёртка для дорогих функций: значения f(x) запоминаются в ограниченной
+// таблице double -> double без упаковки ключей.
+// Таблица множественно-ассоциативная: ключ по хэшу попадает в набор из WAYS ячеек,
+// внутри набора вытесняется давно не использованная ячейка (LRU).
+// Наборы защищены полосами блокировок, поэтому обёртку можно разделять между потоками;
+// сама функция f вычисляется вне блокировки.
+// При quantum > 0 аргумент округляется к ближайшему узлу сетки k * quantum, и возвращается
+// значение в узле - точность меняется на долю попаданий
+public class Cached implements Function {
+    // Число ячеек в наборе
+    private static final int WAYS = 8;
+    // Наибольшее число полос блокировок
+    private static final int MAX_STRIPES = 64;
+    // Наибольшая ёмкость: число ячеек sets * WAYS должно помещаться в int
+    public static final int MAX_CAPACITY = (1 << 30) / WAYS;
+
+    private final Function f;
+    private final double quantum;
+
+    private final int setMask;
+    private final long[] keys;
+    private final double[] values;
+    // Время последнего обращения к ячейке по часам её набора; 0 - ячейка пуста
+    private final long[] stamps;
+    private final long[] clocks;
+
+    private final Object[] locks;
+    private final int stripeMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Cached(Function f, int capacity) {
+        this(f, capacity, 0);
+    }
+
+    public Cached(Function f, int capacity, double quantum) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Размер кэша не может превышать " + MAX_CAPACITY);
+        }
+        if (!(quantum >= 0) || Double.isInfinite(quantum)) {
+            throw new IllegalArgumentException("Некорректный шаг квантования: " + quantum);
+        }
+
+        this.f = f;
+        this.quantum = quantum;
+
+        // Число наборов - степень двойки, ёмкость не меньше запрошенной
+        int sets = 1;
+        while (sets * WAYS < capacity) {
+            sets <<= 1;
+        }
+        this.setMask = sets - 1;
+        this.keys = new long[sets * WAYS];
+        this.values = new double[sets * WAYS];
+        this.stamps = new long[sets * WAYS];
+        this.clocks = new long[sets];
+
+        int stripes = Math.min(sets, MAX_STRIPES);
+        this.locks = new Object[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (quantum > 0) {
+            x = Math.rint(x / quantum) * quantum;
+        }
+        if (Double.isNaN(x)) {
+            return f.getFunctionValue(x);
+        }
+
+        long key = Double.doubleToRawLongBits(x);
+        int set = hash(key) & setMask;
+        int base = set * WAYS;
+        Object lock = locks[set & stripeMask];
+
+        synchronized (lock) {
+            for (int i = base; i < base + WAYS; i++) {
+                if (stamps[i] != 0 && keys[i] == key) {
+                    stamps[i] = ++clocks[set];
+                    hits.increment();
+                    return values[i];
+                }
+            }
+        }
+
+        misses.increment();
+        double value = f.getFunctionValue(x);
+
+        synchronized (lock) {
+            // Пока f вычислялась, другой поток мог уже записать этот ключ
+            int victim = base;
+            for (int i = base; i < base + WAYS; i++) {
+                if (stamps[i] != 0 && keys[i] == key) {
+                    stamps[i] = ++clocks[set];
+                    return values[i];
+                }
+                if (stamps[i] < stamps[victim]) {
+                    victim = i;
+                }
+            }
+            if (stamps[victim] != 0) {
+                evictions.increment();
+            }
+            keys[victim] = key;
+            values[victim] = value;
+            stamps[victim] = ++clocks[set];
+        }
+        return value;
+    }
+
+    // Перемешивание битов ключа (финализатор MurmurHash3), чтобы соседние x
+    // распределялись по разным наборам
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    // Очистка кэша; счётчики не сбрасываются
+    public void clear() {
+        for (int set = 0; set <= setMask; set++) {
+            synchronized (locks[set & stripeMask]) {
+                for (int i = set * WAYS; i < (set + 1) * WAYS; i++) {
+                    stamps[i] = 0;
+                }
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    // Доля попаданий среди всех обращений (NaN, если обращений не было)
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? Double.NaN : (double) h / total;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+}
@@ -29,4 +29,34 @@ public class Composition implements Function {
         }
         return f2.getFunctionValue(innerValue);
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        f1.evaluate(xs, out, from, to);
+        
+        int first = from;
+        while (first < to && !Double.isNaN(out[first])) first++;
+        if (first == to) {
+            f2.evaluate(out, out, from, to);
+            return;
+        }
+        
+        // Внутренняя функция где-то не определена: её значения сохраняются в рабочем
+        // массиве потока, чтобы после f2 вернуть NaN на эти позиции
+        Scratch scratch = Scratch.get();
+        double[] inner = scratch.acquire(to - first);
+        try {
+            System.arraycopy(out, first, inner, 0, to - first);
+            f2.evaluate(out, out, from, to);
+            for (int i = first; i < to; i++) {
+                if (Double.isNaN(inner[i - first])) out[i] = Double.NaN;
+            }
+        } finally {
+            scratch.release();
+        }
+    }
+    
+    // Операнды узла для FunctionCompiler
+    Function getFirst() { return f1; }
+    Function getSecond() { return f2; }
 }
\ No newline at end of file
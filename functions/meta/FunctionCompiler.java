@@ -0,0 +1,277 @@
+package functions.meta;
+
+import functions.Function;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Компилятор деревьев функций из functions.basic и functions.meta.
+// 1) simplify: алгебраические упрощения (Shift∘Shift -> Shift, Scale∘Scale -> Scale,
+//    Power(f, 1) -> f, тождественные Shift/Scale удаляются, Power∘Power с целыми
+//    показателями сворачивается);
+// 2) compile: дерево превращается в один составной MethodHandle, в котором границы
+//    областей определения и ln(base) логарифмов уже вычислены. После прогрева JIT
+//    специализирует такой MethodHandle целиком, без виртуального вызова на каждый узел.
+// Свёртка констант может изменить результат в последнем знаке (например, x - a - c
+// вместо (x - a) - c)
+public final class FunctionCompiler {
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+
+    private static final MethodHandle EXP;
+    private static final MethodHandle SIN;
+    private static final MethodHandle COS;
+    private static final MethodHandle TAN;
+    private static final MethodHandle LOG;
+    private static final MethodHandle SHIFT;
+    private static final MethodHandle SCALE;
+    private static final MethodHandle MULTIPLY_BY;
+    private static final MethodHandle POWER;
+    private static final MethodHandle SUM;
+    private static final MethodHandle MULT;
+    private static final MethodHandle IS_NAN;
+    private static final MethodHandle GET_VALUE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+            MethodType pair = MethodType.methodType(double.class, double.class, double.class, double.class,
+                                                    double.class, double.class);
+
+            EXP = lookup.findStatic(Math.class, "exp", UNARY);
+            SIN = lookup.findStatic(Math.class, "sin", UNARY);
+            COS = lookup.findStatic(Math.class, "cos", UNARY);
+            TAN = lookup.findStatic(FunctionCompiler.class, "tan", UNARY);
+            LOG = lookup.findStatic(FunctionCompiler.class, "log", binary);
+            SHIFT = lookup.findStatic(FunctionCompiler.class, "shift", binary);
+            SCALE = lookup.findStatic(FunctionCompiler.class, "scale", binary);
+            MULTIPLY_BY = lookup.findStatic(FunctionCompiler.class, "multiplyBy", binary);
+            POWER = lookup.findStatic(FunctionCompiler.class, "power", binary);
+            SUM = lookup.findStatic(FunctionCompiler.class, "sum", pair);
+            MULT = lookup.findStatic(FunctionCompiler.class, "mult", pair);
+            IS_NAN = lookup.findStatic(Double.class, "isNaN", MethodType.methodType(boolean.class, double.class));
+            GET_VALUE = lookup.findVirtual(Function.class, "getFunctionValue", UNARY);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionCompiler() {}
+
+    // Упрощение и компиляция дерева в одну функцию
+    public static Function compile(Function f) {
+        Function simplified = simplify(f);
+        return new CompiledFunction(simplified.getLeftDomainBorder(), simplified.getRightDomainBorder(),
+                                    toHandle(simplified));
+    }
+
+    // Алгебраические упрощения; результат построен из тех же классов functions.meta.
+    // Сравнивается точный класс узла: подклассы могут переопределять вычисление
+    public static Function simplify(Function f) {
+        if (f.getClass() == Shift.class) {
+            Shift shift = (Shift) f;
+            Function inner = simplify(shift.getFunction());
+            double shiftX = shift.getShiftX();
+            double shiftY = shift.getShiftY();
+            if (inner.getClass() == Shift.class) {
+                Shift innerShift = (Shift) inner;
+                shiftX += innerShift.getShiftX();
+                shiftY += innerShift.getShiftY();
+                inner = innerShift.getFunction();
+            }
+            if (shiftX == 0 && shiftY == 0) {
+                return inner;
+            }
+            return new Shift(inner, shiftX, shiftY);
+        }
+        if (f.getClass() == Scale.class) {
+            Scale scale = (Scale) f;
+            Function inner = simplify(scale.getFunction());
+            double scaleX = scale.getScaleX();
+            double scaleY = scale.getScaleY();
+            if (inner.getClass() == Scale.class) {
+                Scale innerScale = (Scale) inner;
+                scaleX *= innerScale.getScaleX();
+                scaleY *= innerScale.getScaleY();
+                inner = innerScale.getFunction();
+            }
+            if (scaleX == 1 && scaleY == 1) {
+                return inner;
+            }
+            return new Scale(inner, scaleX, scaleY);
+        }
+        if (f.getClass() == Power.class) {
+            Power power = (Power) f;
+            Function inner = simplify(power.getFunction());
+            double exponent = power.getPower();
+            // (f^a)^b = f^(a*b) верно для любых f только при целых a и b
+            if (inner.getClass() == Power.class && isInteger(exponent) && isInteger(((Power) inner).getPower())) {
+                exponent *= ((Power) inner).getPower();
+                inner = ((Power) inner).getFunction();
+            }
+            if (exponent == 1) {
+                return inner;
+            }
+            return new Power(inner, exponent);
+        }
+        if (f.getClass() == Sum.class) {
+            return new Sum(simplify(((Sum) f).getFirst()), simplify(((Sum) f).getSecond()));
+        }
+        if (f.getClass() == Mult.class) {
+            return new Mult(simplify(((Mult) f).getFirst()), simplify(((Mult) f).getSecond()));
+        }
+        if (f.getClass() == Composition.class) {
+            return new Composition(simplify(((Composition) f).getFirst()),
+                                   simplify(((Composition) f).getSecond()));
+        }
+        return f;
+    }
+
+    private static boolean isInteger(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value);
+    }
+
+    // Построение MethodHandle типа (double)double для упрощённого дерева
+    private static MethodHandle toHandle(Function f) {
+        Class<?> type = f.getClass();
+
+        if (type == Exp.class) return EXP;
+        if (type == Sin.class) return SIN;
+        if (type == Cos.class) return COS;
+        if (type == Tan.class) return TAN;
+        if (type == Log.class) {
+            return MethodHandles.insertArguments(LOG, 1, Math.log(((Log) f).getBase()));
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) f;
+            MethodHandle inner = MethodHandles.filterArguments(toHandle(shift.getFunction()), 0,
+                MethodHandles.insertArguments(SHIFT, 1, -shift.getShiftX()));
+            return MethodHandles.filterReturnValue(inner, MethodHandles.insertArguments(SHIFT, 1, shift.getShiftY()));
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) f;
+            MethodHandle inner = MethodHandles.filterArguments(toHandle(scale.getFunction()), 0,
+                MethodHandles.insertArguments(SCALE, 1, scale.getScaleX()));
+            return MethodHandles.filterReturnValue(inner,
+                MethodHandles.insertArguments(MULTIPLY_BY, 1, scale.getScaleY()));
+        }
+        if (type == Power.class) {
+            Power power = (Power) f;
+            return MethodHandles.filterReturnValue(toHandle(power.getFunction()),
+                MethodHandles.insertArguments(POWER, 1, power.getPower()));
+        }
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            return pair(SUM, f, toHandle(sum.getFirst()), toHandle(sum.getSecond()));
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) f;
+            return pair(MULT, f, toHandle(mult.getFirst()), toHandle(mult.getSecond()));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) f;
+            // Если внутренняя функция дала NaN, внешняя не вычисляется
+            MethodHandle outer = MethodHandles.guardWithTest(IS_NAN,
+                MethodHandles.identity(double.class), toHandle(composition.getSecond()));
+            return MethodHandles.filterReturnValue(toHandle(composition.getFirst()), outer);
+        }
+
+        // Неизвестная функция (например, табулированная) вызывается напрямую
+        return GET_VALUE.bindTo(f);
+    }
+
+    // (x) -> combiner(x, left, right, f1(x), f2(x)); границы области определения - константы
+    private static MethodHandle pair(MethodHandle combiner, Function f, MethodHandle first, MethodHandle second) {
+        MethodHandle bound = MethodHandles.insertArguments(combiner, 1,
+            f.getLeftDomainBorder(), f.getRightDomainBorder());
+        MethodHandle filtered = MethodHandles.filterArguments(bound, 1, first, second);
+        return MethodHandles.permuteArguments(filtered, UNARY, 0, 0, 0);
+    }
+
+    // Элементарные операции узлов; повторяют логику соответствующих классов
+
+    private static double tan(double x) {
+        double cos = Math.cos(x);
+        if (Math.abs(cos) < 1e-9) {
+            return Double.NaN;
+        }
+        return Math.tan(x);
+    }
+
+    private static double log(double x, double lnBase) {
+        if (x <= 0) return Double.NaN;
+        return Math.log(x) / lnBase;
+    }
+
+    private static double shift(double x, double delta) {
+        return x + delta;
+    }
+
+    private static double scale(double x, double scaleX) {
+        return x / scaleX;
+    }
+
+    private static double multiplyBy(double value, double factor) {
+        return value * factor;
+    }
+
+    private static double power(double value, double power) {
+        if (Double.isNaN(value)) {
+            return Double.NaN;
+        }
+        return Math.pow(value, power);
+    }
+
+    private static double sum(double x, double left, double right, double v1, double v2) {
+        if (x < left || x > right) {
+            return Double.NaN;
+        }
+        return v1 + v2;
+    }
+
+    private static double mult(double x, double left, double right, double v1, double v2) {
+        if (x < left || x > right) {
+            return Double.NaN;
+        }
+        return v1 * v2;
+    }
+
+    // Результат компиляции: один MethodHandle и заранее вычисленные границы
+    private static final class CompiledFunction implements Function {
+        private final double left;
+        private final double right;
+        private final MethodHandle handle;
+
+        CompiledFunction(double left, double right, MethodHandle handle) {
+            this.left = left;
+            this.right = right;
+            this.handle = handle;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return left;
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return right;
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            try {
+                return (double) handle.invokeExact(x);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
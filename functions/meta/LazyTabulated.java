@@ -0,0 +1,232 @@
+package functions.meta;
+
+import functions.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Прокси, который табулирует функцию по требованию.
+// Отрезок [left, right] делится на segments равных сегментов. Сегмент табулируется при
+// первом обращении к нему, дальше значения берутся линейной интерполяцией по таблице.
+// Правило уточнения: сегмент начинает с initialPoints равномерных точек, затем число
+// интервалов удваивается, пока отклонение f в серединах интервалов от интерполяции
+// не станет не больше tolerance (оценка погрешности по серединам, как в методе Рунге).
+// Ограничение памяти: всего в таблицах не больше maxPoints точек. Сегмент, которому не
+// хватило памяти или в котором f принимает NaN/бесконечность, вычисляется напрямую через f.
+// Вне [left, right] функция всегда вычисляется напрямую.
+// Сегменты строятся вне блокировок; если два потока строят один сегмент, используется
+// таблица того, кто успел первым
+public class LazyTabulated implements Function {
+    // Метка сегмента, который вычисляется напрямую
+    private static final Table DIRECT = new Table(0, 0, new double[0]);
+    // Наибольшее число точек в таблице одного сегмента
+    private static final int MAX_SEGMENT_POINTS = 1 << 24;
+
+    private final Function f;
+    private final double left;
+    private final double right;
+    private final double segmentWidth;
+    private final double segmentsPerUnit;
+    private final int initialPoints;
+    private final double tolerance;
+    private final long maxPoints;
+
+    // Таблицы сегментов; null - сегмент ещё не строился
+    private final AtomicReferenceArray<Table> tables;
+    private final AtomicLong usedPoints = new AtomicLong();
+
+    public LazyTabulated(Function f, double left, double right, int segments, int initialPoints,
+                         double tolerance, long maxPoints) {
+        if (left < f.getLeftDomainBorder() || right > f.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал табулирования находится за пределами области определения функции");
+        }
+        if (!(left < right) || segments < 1 || initialPoints < 2) {
+            throw new IllegalArgumentException("Invalid domain, segments or points count");
+        }
+        if (!(tolerance > 0) || maxPoints < 0) {
+            throw new IllegalArgumentException("Погрешность должна быть положительной, а лимит точек - неотрицательным");
+        }
+
+        this.f = f;
+        this.left = left;
+        this.right = right;
+        this.segmentWidth = (right - left) / segments;
+        this.segmentsPerUnit = segments / (right - left);
+        this.initialPoints = initialPoints;
+        this.tolerance = tolerance;
+        this.maxPoints = maxPoints;
+        this.tables = new AtomicReferenceArray<>(segments);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return f.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return f.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (!(x >= left && x <= right)) {
+            return f.getFunctionValue(x);
+        }
+
+        int segment = (int) ((x - left) * segmentsPerUnit);
+        if (segment >= tables.length()) {
+            segment = tables.length() - 1;
+        }
+
+        Table table = tables.get(segment);
+        if (table == null) {
+            table = build(segment);
+        }
+        if (table == DIRECT) {
+            return f.getFunctionValue(x);
+        }
+
+        // Линейная интерполяция по равномерным узлам сегмента
+        double[] ys = table.ys;
+        double t = (x - table.left) * table.scale;
+        int i = (int) t;
+        if (i > ys.length - 2) i = ys.length - 2;
+        if (i < 0) i = 0;
+        return ys[i] + (ys[i + 1] - ys[i]) * (t - i);
+    }
+
+    // Таблица сегмента: значения в узлах left + i / scale
+    private static final class Table {
+        final double left;
+        final double scale;
+        final double[] ys;
+
+        Table(double left, double scale, double[] ys) {
+            this.left = left;
+            this.scale = scale;
+            this.ys = ys;
+        }
+    }
+
+    private double segmentLeft(int segment) {
+        return left + segment * segmentWidth;
+    }
+
+    private double segmentRight(int segment) {
+        return segment == tables.length() - 1 ? right : left + (segment + 1) * segmentWidth;
+    }
+
+    // Табулирование сегмента с уточнением; возвращает итоговую таблицу (или DIRECT)
+    private Table build(int segment) {
+        double a = segmentLeft(segment);
+        double b = segmentRight(segment);
+
+        double[] ys = sample(a, b, initialPoints);
+        while (ys != null) {
+            int refined = 2 * ys.length - 1;
+            if (refined > MAX_SEGMENT_POINTS || refined > maxPoints - usedPoints.get()) {
+                return publish(segment, DIRECT);
+            }
+
+            // Значения в серединах интервалов - одновременно оценка погрешности и узлы следующего уровня
+            double[] fine = new double[refined];
+            double[] mids = new double[ys.length - 1];
+            double h = (b - a) / (refined - 1);
+            for (int i = 0; i < mids.length; i++) {
+                mids[i] = a + (2 * i + 1) * h;
+            }
+            f.evaluate(mids, mids, 0, mids.length);
+
+            double error = 0;
+            for (int i = 0; i < mids.length; i++) {
+                if (!isFinite(mids[i])) {
+                    return publish(segment, DIRECT);
+                }
+                error = Math.max(error, Math.abs(mids[i] - (ys[i] + ys[i + 1]) / 2));
+                fine[2 * i] = ys[i];
+                fine[2 * i + 1] = mids[i];
+            }
+            fine[refined - 1] = ys[ys.length - 1];
+            ys = fine;
+
+            if (error <= tolerance) {
+                break;
+            }
+        }
+
+        if (ys == null) {
+            return publish(segment, DIRECT);
+        }
+
+        // Резервирование памяти под таблицу; при нехватке сегмент вычисляется напрямую
+        long used;
+        do {
+            used = usedPoints.get();
+            if (used + ys.length > maxPoints) {
+                return publish(segment, DIRECT);
+            }
+        } while (!usedPoints.compareAndSet(used, used + ys.length));
+
+        Table table = new Table(a, (ys.length - 1) / (b - a), ys);
+        if (!tables.compareAndSet(segment, null, table)) {
+            usedPoints.addAndGet(-ys.length);
+            return tables.get(segment);
+        }
+        return table;
+    }
+
+    private Table publish(int segment, Table table) {
+        tables.compareAndSet(segment, null, table);
+        return tables.get(segment);
+    }
+
+    // Значения f в count равномерных узлах [a, b]; null, если среди них есть NaN или бесконечность
+    private double[] sample(double a, double b, int count) {
+        double[] ys = new double[count];
+        double h = (b - a) / (count - 1);
+        for (int i = 0; i < count - 1; i++) {
+            ys[i] = a + i * h;
+        }
+        ys[count - 1] = b;
+        f.evaluate(ys, ys, 0, count);
+
+        for (double y : ys) {
+            if (!isFinite(y)) {
+                return null;
+            }
+        }
+        return ys;
+    }
+
+    private static boolean isFinite(double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    // Число точек во всех построенных таблицах
+    public long getTabulatedPointsCount() {
+        return usedPoints.get();
+    }
+
+    // Число сегментов, для которых построена таблица
+    public int getTabulatedSegmentsCount() {
+        int count = 0;
+        for (int i = 0; i < tables.length(); i++) {
+            Table table = tables.get(i);
+            if (table != null && table != DIRECT) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Число сегментов, которые вычисляются напрямую (нехватка памяти или особенности f)
+    public int getDirectSegmentsCount() {
+        int count = 0;
+        for (int i = 0; i < tables.length(); i++) {
+            if (tables.get(i) == DIRECT) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
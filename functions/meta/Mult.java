@@ -28,4 +28,36 @@ public class Mult implements Function {
         }
         return f1.getFunctionValue(x) * f2.getFunctionValue(x);
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        int length = to - from;
+        
+        // f2 считается в рабочем массиве потока до f1: если xs и out совпадают, f1
+        // затирает аргументы. Вне области определения в рабочий массив пишется NaN,
+        // он и попадает в результат
+        Scratch scratch = Scratch.get();
+        double[] values = scratch.acquire(length);
+        try {
+            System.arraycopy(xs, from, values, 0, length);
+            f2.evaluate(values, values, 0, length);
+            for (int i = 0; i < length; i++) {
+                double x = xs[from + i];
+                if (x < left || x > right) values[i] = Double.NaN;
+            }
+            
+            f1.evaluate(xs, out, from, to);
+            for (int i = 0; i < length; i++) {
+                out[from + i] = out[from + i] * values[i];
+            }
+        } finally {
+            scratch.release();
+        }
+    }
+    
+    // Операнды узла для FunctionCompiler
+    Function getFirst() { return f1; }
+    Function getSecond() { return f2; }
 }
\ No newline at end of file
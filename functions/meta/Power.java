@@ -29,4 +29,17 @@ public class Power implements Function {
         }
         return Math.pow(value, power);
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        f.evaluate(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            double value = out[i];
+            out[i] = Double.isNaN(value) ? Double.NaN : Math.pow(value, power);
+        }
+    }
+    
+    // Параметры узла для FunctionCompiler
+    Function getFunction() { return f; }
+    double getPower() { return power; }
 }
\ No newline at end of file
@@ -35,4 +35,21 @@ public class Scale implements Function {
     public double getFunctionValue(double x) {
         return f.getFunctionValue(x / scaleX) * scaleY;
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        // Масштабированные аргументы записываются в out, затем f вычисляется на месте
+        for (int i = from; i < to; i++) {
+            out[i] = xs[i] / scaleX;
+        }
+        f.evaluate(out, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] *= scaleY;
+        }
+    }
+    
+    // Параметры узла для FunctionCompiler
+    Function getFunction() { return f; }
+    double getScaleX() { return scaleX; }
+    double getScaleY() { return scaleY; }
 }
\ No newline at end of file
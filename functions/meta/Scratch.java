@@ -0,0 +1,43 @@
+package functions.meta;
+
+import java.util.Arrays;
+
+// Рабочие массивы для блочного вычисления узлов дерева функций, свои у каждого потока.
+// Вложенные узлы (Sum внутри Sum) вычисляются одновременно, поэтому массивы выдаются
+// стеком: глубина вложенности - номер массива. Массив остаётся у потока и переиспользуется
+// следующими блоками; слишком длинные блоки получают временный массив
+final class Scratch {
+    // Наибольшая длина массива, который остаётся у потока
+    private static final int MAX_KEPT = 1 << 16;
+
+    private static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+
+    private double[][] buffers = new double[8][];
+    private int depth;
+
+    private Scratch() {}
+
+    static Scratch get() {
+        return LOCAL.get();
+    }
+
+    // Массив длины не меньше length; возвращается вызовом release() в порядке стека
+    double[] acquire(int length) {
+        if (depth == buffers.length) {
+            buffers = Arrays.copyOf(buffers, depth * 2);
+        }
+        double[] buffer = buffers[depth];
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[length];
+            if (length <= MAX_KEPT) {
+                buffers[depth] = buffer;
+            }
+        }
+        depth++;
+        return buffer;
+    }
+
+    void release() {
+        depth--;
+    }
+}
@@ -27,4 +27,21 @@ public class Shift implements Function {
     public double getFunctionValue(double x) {
         return f.getFunctionValue(x - shiftX) + shiftY;
     }
+    
+    @Override
+    public void evaluate(double[] xs, double[] out, int from, int to) {
+        // Сдвинутые аргументы записываются в out, затем f вычисляется на месте
+        for (int i = from; i < to; i++) {
+            out[i] = xs[i] - shiftX;
+        }
+        f.evaluate(out, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] += shiftY;
+        }
+    }
+    
+    // Параметры узла для FunctionCompiler
+    Function getFunction() { return f; }
+    double getShiftX() { return shiftX; }
+    double getShiftY() { return shiftY; }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package benchmarks.jmh;
+
+import functions.*;
+import functions.basic.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Интегрирование каждой функции из functions.basic на [1, 1.5] (входит в область
+// определения всех, включая tg и log) и пакетное интегрирование многих окон
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IntegrationBenchmark {
+    private static final int WINDOWS = 1000;
+
+    @Param({"Exp", "Log", "Sin", "Cos", "Tan"})
+    public String function;
+
+    @Param({"1e-4"})
+    public double step;
+
+    private Function f;
+    private final double[] lefts = new double[WINDOWS];
+    private final double[] rights = new double[WINDOWS];
+
+    @Setup
+    public void setUp() {
+        switch (function) {
+            case "Exp": f = new Exp(); break;
+            case "Log": f = new Log(2); break;
+            case "Sin": f = new Sin(); break;
+            case "Cos": f = new Cos(); break;
+            default: f = new Tan();
+        }
+        // Окна внутри [1, 1.5]
+        Random random = new Random(23);
+        for (int i = 0; i < WINDOWS; i++) {
+            lefts[i] = 1 + random.nextDouble() * 0.25;
+            rights[i] = lefts[i] + 0.01 + random.nextDouble() * 0.24;
+        }
+    }
+
+    @Benchmark
+    public double integrate() {
+        return Functions.integrate(f, 1, 1.5, step);
+    }
+
+    @Benchmark
+    public double integrateParallel() {
+        return Functions.integrateParallel(f, 1, 1.5, step);
+    }
+
+    @Benchmark
+    public double integrateAdaptive() {
+        return Functions.integrateAdaptive(f, 1, 1.5, 1e-10).getValue();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOWS)
+    public double integrateWindows() {
+        double s = 0;
+        for (int i = 0; i < WINDOWS; i++) s += Functions.integrate(f, lefts[i], rights[i], step);
+        return s;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOWS)
+    public double[] integrateBatch() {
+        return Functions.integrateBatch(f, lefts, rights, step);
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks.jmh;
+
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Sin;
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Четыре метода ввода/вывода TabulatedFunctions, в памяти, без диска
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IoBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private TabulatedFunction f;
+    private byte[] binary;
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        f = TabulatedFunctions.tabulate(new Sin(), 0, 10, size);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TabulatedFunctions.outputTabulatedFunction(f, bytes);
+        binary = bytes.toByteArray();
+        StringWriter writer = new StringWriter();
+        TabulatedFunctions.writeTabulatedFunction(f, writer);
+        text = writer.toString();
+    }
+
+    @Benchmark
+    public int outputTabulatedFunction() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length);
+        TabulatedFunctions.outputTabulatedFunction(f, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public TabulatedFunction inputTabulatedFunction() throws IOException {
+        return TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary));
+    }
+
+    @Benchmark
+    public int writeTabulatedFunction() throws IOException {
+        StringWriter out = new StringWriter(text.length());
+        TabulatedFunctions.writeTabulatedFunction(f, out);
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public TabulatedFunction readTabulatedFunction() throws IOException {
+        return TabulatedFunctions.readTabulatedFunction(new StringReader(text));
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks.jmh;
+
+import benchmarks.Benchmarks;
+import functions.Function;
+import functions.Functions;
+import functions.meta.FunctionCompiler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Деревья functions.meta разной глубины: вызов по точке, блочное вычисление,
+// скомпилированное дерево и кэш при повторяющихся аргументах
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetaBenchmark {
+    private static final int BLOCK = 1024;
+    // Число различных аргументов (степень двойки)
+    private static final int ARGUMENTS = 4096;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    private Function f;
+    private Function compiled;
+    private Function cached;
+    private final double[] xs = new double[ARGUMENTS];
+    private final double[] out = new double[BLOCK];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        f = Benchmarks.tree(depth);
+        compiled = FunctionCompiler.compile(f);
+        cached = Functions.cached(f, 2 * ARGUMENTS);
+        for (int i = 0; i < ARGUMENTS; i++) xs[i] = i * 1e-4;
+    }
+
+    @Benchmark
+    public double getFunctionValue() {
+        return f.getFunctionValue(xs[next++ & (ARGUMENTS - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public double[] evaluateBlock() {
+        f.evaluate(xs, out, 0, BLOCK);
+        return out;
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.getFunctionValue(xs[next++ & (ARGUMENTS - 1)]);
+    }
+
+    @Benchmark
+    public double cachedRepeated() {
+        return cached.getFunctionValue(xs[next++ & (ARGUMENTS - 1)]);
+    }
+}
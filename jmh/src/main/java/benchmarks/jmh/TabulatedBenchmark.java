@@ -0,0 +1,58 @@
+package benchmarks.jmh;
+
+import functions.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Табулированные функции: вычисление значения и вставка/удаление точки для всех реализаций.
+// Размер 10^7 для связного списка требует большой кучи, поэтому форк получает -Xmx4g
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class TabulatedBenchmark {
+    // Число заранее подготовленных случайных аргументов (степень двойки)
+    private static final int ARGUMENTS = 4096;
+
+    @Param({"Array", "LinkedList", "PrimitiveArray", "Chunked"})
+    public String implementation;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private TabulatedFunction f;
+    private final double[] xs = new double[ARGUMENTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) values[i] = Math.sin(i);
+        switch (implementation) {
+            case "Array": f = new ArrayTabulatedFunction(0, size, values); break;
+            case "LinkedList": f = new LinkedListTabulatedFunction(0, size, values); break;
+            case "PrimitiveArray": f = new PrimitiveArrayTabulatedFunction(0, size, values); break;
+            default: f = new ChunkedTabulatedFunction(0, size, values);
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < ARGUMENTS; i++) xs[i] = random.nextDouble() * size;
+    }
+
+    @Benchmark
+    public double getFunctionValue() {
+        return f.getFunctionValue(xs[next++ & (ARGUMENTS - 1)]);
+    }
+
+    // Вставка между узлами и удаление вставленной точки: размер таблицы не меняется
+    @Benchmark
+    public int addPointDeletePoint() throws InappropriateFunctionPointException {
+        int index = Math.min((int) xs[next++ & (ARGUMENTS - 1)], size - 2);
+        double x = (f.getPointX(index) + f.getPointX(index + 1)) / 2;
+        f.addPoint(new FunctionPoint(x, 0));
+        f.deletePoint(index + 1);
+        return index;
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import threads.*;
+
+// Пропускная способность обработки заданий: пара Generator/Integrator на семафорах,
+// конвейер TaskPipeline и планировщик IntegrationScheduler. Результаты идут в
+// MetricsResultSink, чтобы вывод не влиял на время
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ThreadsBenchmark {
+    private static final int TASKS = 200;
+
+    private final List<IntegrationTask> tasks = new ArrayList<>();
+    private int workers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(IntegrationTask.randomLogTask(random));
+        }
+        workers = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long generatorIntegrator() throws InterruptedException {
+        MetricsResultSink sink = new MetricsResultSink();
+        Task task = new Task();
+        task.setTasksCount(TASKS);
+        Semaphore dataReady = new Semaphore(0);
+        Semaphore dataProcessed = new Semaphore(1);
+        Generator generator = new Generator(task, dataReady, dataProcessed, sink);
+        Integrator integrator = new Integrator(task, dataReady, dataProcessed, sink);
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+        return sink.getSuccessCount();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long taskPipeline() throws InterruptedException {
+        MetricsResultSink sink = new MetricsResultSink();
+        TaskPipeline pipeline = new TaskPipeline(workers, 64, BackpressurePolicy.BLOCK, sink);
+        for (IntegrationTask task : tasks) {
+            pipeline.submit(task);
+        }
+        pipeline.shutdown();
+        pipeline.awaitTermination(10, TimeUnit.MINUTES);
+        return sink.getSuccessCount();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public List<TaskResult> integrationScheduler() {
+        try (IntegrationScheduler scheduler = new IntegrationScheduler(workers)) {
+            return scheduler.integrateAll(tasks);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package threads;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Formatter;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Асинхронный приёмник: рабочие потоки только записывают числа задания в кольцевой буфер,
+// форматирование и вывод выполняет отдельный поток-писатель.
+// Буфер - параллельные массивы примитивов фиксированной ёмкости, поэтому запись события
+// не создаёт объектов. Писатель забирает всё накопленное одной пачкой, форматирует её в
+// общий StringBuilder и выводит одним вызовом с одним flush.
+// Формат строк совпадает с ConsoleResultSink. При заполненном буфере производитель ждёт
+// писателя: события не теряются. close() дожидается вывода всех событий
+public class AsyncResultSink implements ResultSink {
+    private static final byte RESULT = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SUBMITTED = 2;
+
+    private final PrintStream out;
+    private final boolean ownsStream;
+
+    // Слот k - индекс k & mask; head - первый невыведенный слот, tail - первый свободный
+    private final int mask;
+    private final byte[] kinds;
+    private final double[] lefts;
+    private final double[] rights;
+    private final double[] steps;
+    // Значение интеграла для результата, основание логарифма для созданного задания
+    private final double[] values;
+    private final String[] errors;
+    private long head;
+    private long tail;
+    private boolean closed;
+    // Писатель завершился; failure - причина, если он упал с исключением
+    private boolean stopped;
+    private Throwable failure;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private final Thread writer;
+    private long written;
+    private long batches;
+
+    // Вывод в поток out (не закрывается вместе с приёмником); capacity - число событий в буфере
+    public AsyncResultSink(PrintStream out, int capacity) {
+        this(out, capacity, false);
+    }
+
+    // Вывод в файл; файл закрывается в close()
+    public AsyncResultSink(Path file, int capacity) throws IOException {
+        this(new PrintStream(new BufferedOutputStream(Files.newOutputStream(file))), capacity, true);
+    }
+
+    private AsyncResultSink(PrintStream out, int capacity, boolean ownsStream) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Некорректная ёмкость буфера: " + capacity);
+        }
+        this.out = out;
+        this.ownsStream = ownsStream;
+
+        // Ёмкость округляется вверх до степени двойки
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.kinds = new byte[size];
+        this.lefts = new double[size];
+        this.rights = new double[size];
+        this.steps = new double[size];
+        this.values = new double[size];
+        this.errors = new String[size];
+
+        this.writer = new Thread(this::drain, "result-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void accept(TaskResult result) {
+        IntegrationTask task = result.getTask();
+        if (result.isSuccess()) {
+            put(RESULT, task.getLeft(), task.getRight(), task.getStep(), result.getValue(), null);
+        } else {
+            put(FAILURE, 0, 0, 0, 0, result.getError());
+        }
+    }
+
+    @Override
+    public void submitted(IntegrationTask task) {
+        put(SUBMITTED, task.getLeft(), task.getRight(), task.getStep(),
+            ConsoleResultSink.baseOf(task.getFunction()), null);
+    }
+
+    // Запись события в буфер. Ожидание места не прерывается, чтобы результат не потерялся;
+    // флаг прерывания потока сохраняется
+    private void put(byte kind, double left, double right, double step, double value, String error) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Приёмник результатов закрыт");
+            }
+            // Без живого писателя место в буфере не освободится: ошибка вместо вечного ожидания
+            while (true) {
+                if (stopped) {
+                    throw new IllegalStateException("Поток вывода результатов остановлен", failure);
+                }
+                if (tail - head <= mask) {
+                    break;
+                }
+                notFull.awaitUninterruptibly();
+            }
+            int i = (int) (tail & mask);
+            kinds[i] = kind;
+            lefts[i] = left;
+            rights[i] = right;
+            steps[i] = step;
+            values[i] = value;
+            errors[i] = error;
+            tail++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Цикл писателя: слоты [from, to) принадлежат ему, пока head не сдвинут
+    private void drain() {
+        StringBuilder text = new StringBuilder();
+        Formatter formatter = new Formatter(text);
+        try {
+            while (true) {
+                long from;
+                long to;
+                lock.lock();
+                try {
+                    while (head == tail && !closed) {
+                        notEmpty.await();
+                    }
+                    if (head == tail) {
+                        return;
+                    }
+                    from = head;
+                    to = tail;
+                } finally {
+                    lock.unlock();
+                }
+
+                for (long k = from; k < to; k++) {
+                    format(formatter, text, (int) (k & mask));
+                }
+                out.append(text);
+                out.flush();
+                text.setLength(0);
+
+                lock.lock();
+                try {
+                    head = to;
+                    written += to - from;
+                    batches++;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Писатель прерывается только при аварийной остановке
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Производители, ждущие места, просыпаются и получают ошибку
+            lock.lock();
+            try {
+                stopped = true;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void format(Formatter formatter, StringBuilder text, int i) {
+        switch (kinds[i]) {
+            case RESULT:
+                formatter.format("Результат интегрирования: левая граница = %.2f, правая граница = %.2f" +
+                                 ", шаг = %.4f, интеграл = %.6f%n", lefts[i], rights[i], steps[i], values[i]);
+                break;
+            case FAILURE:
+                text.append("Ошибка интегрирования: ").append(errors[i]).append(System.lineSeparator());
+                errors[i] = null;
+                break;
+            default:
+                formatter.format("Создано задание: левая граница = %.2f, правая граница = %.2f" +
+                                 ", шаг = %.4f   [Основание логарифма: %.2f]%n", lefts[i], rights[i], steps[i], values[i]);
+        }
+    }
+
+    // Число выведенных событий
+    public long getWrittenCount() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Число пачек, которыми выводились события
+    public long getBatchCount() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Новые события не принимаются; возврат после вывода всех уже записанных
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (ownsStream) {
+            out.close();
+        } else {
+            out.flush();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
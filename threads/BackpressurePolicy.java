@@ -0,0 +1,11 @@
+package threads;
+
+// Поведение TaskPipeline.submit при заполненной очереди заданий
+public enum BackpressurePolicy {
+    // Производитель ждёт освобождения места в очереди
+    BLOCK,
+    // Задание отклоняется, submit возвращает false
+    REJECT,
+    // Задание выполняется в потоке производителя
+    CALLER_RUNS
+}
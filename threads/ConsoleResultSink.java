@@ -0,0 +1,34 @@
+package threads;
+
+import functions.Function;
+import functions.basic.Log;
+
+// Вывод результатов в консоль в том же формате, что и у Integrator
+public class ConsoleResultSink implements ResultSink {
+    @Override
+    public void accept(TaskResult result) {
+        IntegrationTask task = result.getTask();
+        if (result.isSuccess()) {
+            System.out.println("Результат интегрирования: левая граница = " + String.format("%.2f", task.getLeft()) + 
+                             ", правая граница = " + String.format("%.2f", task.getRight()) + 
+                             ", шаг = " + String.format("%.4f", task.getStep()) + 
+                             ", интеграл = " + String.format("%.6f", result.getValue()));
+        } else {
+            System.out.println("Ошибка интегрирования: " + result.getError());
+        }
+    }
+    
+    // Сообщение генератора; основание выводится, если функция - логарифм
+    @Override
+    public void submitted(IntegrationTask task) {
+        System.out.println("Создано задание: левая граница = " + String.format("%.2f", task.getLeft()) + 
+                         ", правая граница = " + String.format("%.2f", task.getRight()) + 
+                         ", шаг = " + String.format("%.4f", task.getStep()) + 
+                         "   [Основание логарифма: " + String.format("%.2f", baseOf(task.getFunction())) + "]");
+    }
+    
+    // Основание логарифма или NaN для других функций
+    static double baseOf(Function f) {
+        return (f instanceof Log) ? ((Log) f).getBase() : Double.NaN;
+    }
+}
@@ -0,0 +1,9 @@
+package threads;
+
+// Способ выполнения заданий в IntegrationService
+public enum ExecutionMode {
+    // Каждое задание в отдельном виртуальном потоке (требуется Java 21+)
+    VIRTUAL,
+    // Пул платформенных потоков фиксированного размера
+    PLATFORM
+}
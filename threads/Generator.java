@@ -9,11 +9,18 @@ public class Generator extends Thread {
     private final Task task;
     private final Semaphore dataReady;
     private final Semaphore dataProcessed;
+    private final ResultSink sink;
 
     public Generator(Task task, Semaphore dataReady, Semaphore dataProcessed){
+        this(task, dataReady, dataProcessed, new ConsoleResultSink());
+    }
+
+    // Сообщения о созданных заданиях передаются в sink
+    public Generator(Task task, Semaphore dataReady, Semaphore dataProcessed, ResultSink sink){
         this.task = task;
         this.dataReady = dataReady;
         this.dataProcessed = dataProcessed;
+        this.sink = sink;
     }
     
     @Override
@@ -37,10 +44,7 @@ public class Generator extends Thread {
                 task.setStep(step);
                 
                 
-                System.out.println("Создано задание: левая граница = " + String.format("%.2f", left) + 
-                                 ", правая граница = " + String.format("%.2f", right) + 
-                                 ", шаг = " + String.format("%.4f", step) + 
-                                 "   [Основание логарифма: " + String.format("%.2f", base) + "]");
+                sink.submitted(new IntegrationTask(logFunc, left, right, step));
                 dataReady.release();
             }
 
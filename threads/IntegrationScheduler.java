@@ -0,0 +1,206 @@
+package threads;
+
+import functions.Functions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Планировщик заданий интегрирования с учётом их стоимости.
+// Стоимость задания - число шагов метода трапеций (right - left) / step. Задание с
+// неположительным шагом или стоимостью больше maxCost отклоняется сразу, до постановки
+// в пул, и не может занять поток навсегда.
+// Дешёвое задание выполняется целиком одной задачей пула. Дорогое (больше splitCost шагов)
+// делится на подотрезки через Functions.integrateParallel: подзадачи попадают в очередь
+// того же пула fork-join и разбираются простаивающими потоками (work stealing), поэтому
+// одно большое задание не задерживает очередь за собой и загружает все ядра
+public class IntegrationScheduler implements AutoCloseable {
+    // Число шагов, начиная с которого задание делится на подзадачи
+    public static final long DEFAULT_SPLIT_COST = 1 << 16;
+    // Наибольшее допустимое число шагов одного задания
+    public static final long DEFAULT_MAX_COST = 1L << 30;
+
+    private final ForkJoinPool pool;
+    private final long splitCost;
+    private final long maxCost;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong split = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    // Планировщик с собственным пулом из parallelism потоков
+    public IntegrationScheduler(int parallelism) {
+        this(new ForkJoinPool(parallelism), DEFAULT_SPLIT_COST, DEFAULT_MAX_COST);
+    }
+
+    // Планировщик на заданном пуле; пул останавливается вместе с планировщиком
+    public IntegrationScheduler(ForkJoinPool pool, long splitCost, long maxCost) {
+        if (splitCost < 1 || maxCost < 1) {
+            throw new IllegalArgumentException("Пороги стоимости должны быть положительными");
+        }
+        this.pool = pool;
+        this.splitCost = splitCost;
+        this.maxCost = maxCost;
+    }
+
+    // Оценка стоимости задания в шагах метода трапеций
+    // (бесконечность или NaN при нулевом шаге)
+    public static double estimateCost(IntegrationTask task) {
+        return (task.getRight() - task.getLeft()) / task.getStep();
+    }
+
+    // Асинхронное выполнение задания; результат - ForkJoinTask.join() или get().
+    // Слишком дорогое задание отклоняется исключением IllegalArgumentException
+    public ForkJoinTask<Double> submit(IntegrationTask task) {
+        admit(task);
+        return pool.submit(new Job(task));
+    }
+
+    // Асинхронное выполнение с выдачей результата в приёмник. Отклонённое задание
+    // передаётся в приёмник как ошибка сразу, в потоке вызывающего
+    public void submit(IntegrationTask task, ResultSink sink) {
+        try {
+            admit(task);
+        } catch (IllegalArgumentException e) {
+            sink.accept(TaskResult.failure(task, e.getMessage()));
+            return;
+        }
+        pool.execute(ForkJoinTask.adapt(() -> {
+            TaskResult result;
+            try {
+                result = TaskResult.success(task, new Job(task).invoke());
+            } catch (RuntimeException e) {
+                result = TaskResult.failure(task, messageOf(e));
+            }
+            sink.accept(result);
+        }));
+    }
+
+    // Выполнение набора заданий; результаты возвращаются в порядке заданий
+    public List<TaskResult> integrateAll(List<IntegrationTask> tasks) {
+        List<ForkJoinTask<Double>> jobs = new ArrayList<>(tasks.size());
+        List<TaskResult> results = new ArrayList<>(tasks.size());
+        for (IntegrationTask task : tasks) {
+            try {
+                jobs.add(submit(task));
+                results.add(null);
+            } catch (IllegalArgumentException e) {
+                jobs.add(null);
+                results.add(TaskResult.failure(task, e.getMessage()));
+            }
+        }
+
+        for (int i = 0; i < jobs.size(); i++) {
+            ForkJoinTask<Double> job = jobs.get(i);
+            if (job == null) {
+                continue;
+            }
+            try {
+                results.set(i, TaskResult.success(tasks.get(i), job.join()));
+            } catch (RuntimeException e) {
+                results.set(i, TaskResult.failure(tasks.get(i), messageOf(e)));
+            }
+        }
+        return results;
+    }
+
+    // ForkJoinTask.join() бросает копию исключения из другого потока, исходное - её причина
+    private static String messageOf(Throwable e) {
+        while (e.getCause() != null && e.getCause().getClass() == e.getClass()) {
+            e = e.getCause();
+        }
+        return e.getMessage();
+    }
+
+    // Проверка стоимости перед постановкой задания в пул
+    private void admit(IntegrationTask task) {
+        submitted.incrementAndGet();
+        if (!(task.getStep() > 0)) {
+            rejected.incrementAndGet();
+            throw new IllegalArgumentException("Шаг должен быть положительным числом");
+        }
+        double cost = estimateCost(task);
+        if (!(cost <= maxCost)) {
+            rejected.incrementAndGet();
+            throw new IllegalArgumentException("Стоимость задания " + String.format("%.3g", cost) +
+                                               " шагов превышает предел " + maxCost);
+        }
+    }
+
+    // Задание целиком: дешёвое считается последовательно, дорогое делится в том же пуле.
+    // Результаты двух путей совпадают в пределах погрешности округления
+    private final class Job extends RecursiveTask<Double> {
+        private final IntegrationTask task;
+
+        Job(IntegrationTask task) {
+            this.task = task;
+        }
+
+        @Override
+        protected Double compute() {
+            double value;
+            if (estimateCost(task) > splitCost) {
+                split.incrementAndGet();
+                value = Functions.integrateParallel(task.getFunction(), task.getLeft(), task.getRight(),
+                                                    task.getStep(), pool);
+            } else {
+                value = Functions.integrate(task.getFunction(), task.getLeft(), task.getRight(), task.getStep());
+            }
+            completed.incrementAndGet();
+            return value;
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    // Число заданий, которые были разделены на подзадачи
+    public long getSplitCount() {
+        return split.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    // Число краж подзадач между потоками пула (оценка ForkJoinPool)
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    // Плавная остановка: новые задания не принимаются, начатые будут выполнены
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Немедленная остановка с отменой невыполненных заданий
+    public void shutdownNow() {
+        pool.shutdownNow();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            while (!awaitTermination(1, TimeUnit.MINUTES)) {
+                // Ожидание завершения начатых заданий
+            }
+        } catch (InterruptedException e) {
+            shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
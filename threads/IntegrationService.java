@@ -0,0 +1,155 @@
+package threads;
+
+import functions.Functions;
+import java.lang.reflect.Method;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Сервис интегрирования на основе ExecutorService: каждое задание получает
+// собственный Future, поддерживаются отмена и ограничение времени ожидания.
+// Задания выполняются либо в виртуальных потоках, либо в пуле платформенных потоков
+public class IntegrationService implements AutoCloseable {
+    // Системные свойства для выбора режима: integration.mode=virtual|platform, integration.threads=N
+    public static final String MODE_PROPERTY = "integration.mode";
+    public static final String THREADS_PROPERTY = "integration.threads";
+    
+    // Число шагов интегрирования между проверками флага прерывания
+    private static final long STEPS_PER_CHECK = 1 << 16;
+    
+    private final ExecutionMode mode;
+    private final ExecutorService executor;
+    
+    public IntegrationService(ExecutionMode mode, int poolSize) {
+        this.mode = mode;
+        if (mode == ExecutionMode.VIRTUAL) {
+            this.executor = newVirtualThreadExecutor();
+        } else {
+            if (poolSize < 1) {
+                throw new IllegalArgumentException("Размер пула должен быть положительным");
+            }
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(poolSize, r -> {
+                Thread thread = new Thread(r, "integration-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    // Сервис с настройками из системных свойств. По умолчанию используются
+    // виртуальные потоки, если их поддерживает JVM, иначе пул по числу ядер
+    public static IntegrationService fromSystemProperties() {
+        String modeName = System.getProperty(MODE_PROPERTY);
+        ExecutionMode mode;
+        if (modeName == null) {
+            mode = isVirtualThreadsSupported() ? ExecutionMode.VIRTUAL : ExecutionMode.PLATFORM;
+        } else {
+            mode = ExecutionMode.valueOf(modeName.trim().toUpperCase());
+        }
+        int threads = Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors());
+        return new IntegrationService(mode, threads);
+    }
+    
+    // Виртуальные потоки появились в Java 21; метод ищется через отражение,
+    // чтобы код компилировался и на более ранних версиях
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Виртуальные потоки не поддерживаются этой версией Java", e);
+        }
+    }
+    
+    public ExecutionMode getMode() {
+        return mode;
+    }
+    
+    // Асинхронное выполнение задания. Future.cancel(true) прерывает вычисление
+    public Future<Double> submit(IntegrationTask task) {
+        return executor.submit(() -> integrateInterruptibly(task));
+    }
+    
+    // Выполнение с ограничением времени: по истечении таймаута задание отменяется
+    public double integrate(IntegrationTask task, long timeout, TimeUnit unit) 
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Future<Double> future = submit(task);
+        try {
+            return future.get(timeout, unit);
+        } catch (TimeoutException | InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+    
+    // Метод трапеций по частям из STEPS_PER_CHECK шагов с проверкой прерывания между частями
+    private static double integrateInterruptibly(IntegrationTask task) {
+        double left = task.getLeft();
+        double right = task.getRight();
+        double step = task.getStep();
+        
+        // Проверка аргументов выполняется на всём отрезке
+        if (step <= 0 || left >= right || right - left <= step * STEPS_PER_CHECK) {
+            return Functions.integrate(task.getFunction(), left, right, step);
+        }
+        
+        // Каждая часть начинается точно там, где закончилась предыдущая:
+        // без перекрытий и зазоров, и from никогда не выходит за right
+        double chunk = step * STEPS_PER_CHECK;
+        double integral = 0.0;
+        double from = left;
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Интегрирование отменено");
+            }
+            double to = Math.min(from + chunk, right);
+            integral += Functions.integrate(task.getFunction(), from, to, step);
+            if (to >= right) {
+                return integral;
+            }
+            from = to;
+        }
+    }
+    
+    // Плавная остановка: новые задания не принимаются, начатые будут выполнены
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    // Немедленная остановка с прерыванием выполняющихся заданий
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+    
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+    
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            while (!awaitTermination(1, TimeUnit.MINUTES)) {
+                // Ожидание завершения начатых заданий
+            }
+        } catch (InterruptedException e) {
+            shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
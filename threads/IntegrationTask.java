@@ -0,0 +1,45 @@
+package threads;
+
+import functions.Function;
+import functions.basic.Log;
+import java.util.Random;
+
+// Неизменяемое задание на интегрирование: его можно передавать между потоками без синхронизации
+public final class IntegrationTask {
+    private final Function function;
+    private final double left;
+    private final double right;
+    private final double step;
+    
+    public IntegrationTask(Function function, double left, double right, double step) {
+        this.function = function;
+        this.left = left;
+        this.right = right;
+        this.step = step;
+    }
+    
+    // Случайное задание с теми же параметрами, что и в Generator
+    public static IntegrationTask randomLogTask(Random random) {
+        double base = 1 + random.nextDouble() * 9;      // основание логарифма от 1 до 10
+        double left = random.nextDouble() * 100;        // левая граница от 0 до 100
+        double right = 100 + random.nextDouble() * 100; // правая граница от 100 до 200
+        double step = random.nextDouble();              // шаг от 0 до 1
+        return new IntegrationTask(new Log(base), left, right, step);
+    }
+    
+    public Function getFunction() {
+        return function;
+    }
+    
+    public double getLeft() {
+        return left;
+    }
+    
+    public double getRight() {
+        return right;
+    }
+    
+    public double getStep() {
+        return step;
+    }
+}
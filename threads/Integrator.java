@@ -9,11 +9,18 @@ public class Integrator extends Thread {
     private final Task task;
     private final Semaphore dataReady;
     private final Semaphore dataProcessed;
+    private final ResultSink sink;
 
     public Integrator(Task task, Semaphore dataReady, Semaphore dataProcessed){
+        this(task, dataReady, dataProcessed, new ConsoleResultSink());
+    }
+
+    // Результаты передаются в sink
+    public Integrator(Task task, Semaphore dataReady, Semaphore dataProcessed, ResultSink sink){
         this.task = task;
         this.dataReady = dataReady;
         this.dataProcessed = dataProcessed;
+        this.sink = sink;
     }
     
     @Override
@@ -31,21 +38,25 @@ public class Integrator extends Thread {
                 double right = task.getRight();
                 double step = task.getStep();
                 
-                // Вычисляем интеграл
-                double result = Functions.integrate(func, left, right, step);
+                // Вычисляем интеграл; ошибка вычисления - тоже результат задания
+                IntegrationTask current = new IntegrationTask(func, left, right, step);
+                TaskResult result;
+                try {
+                    result = TaskResult.success(current, Functions.integrate(func, left, right, step));
+                } catch (RuntimeException e) {
+                    result = TaskResult.failure(current, e.getMessage());
+                }
                 
-                // Выводим результат с комментариями
-                System.out.println("Результат интегрирования: левая граница = " + String.format("%.2f", left) + 
-                                 ", правая граница = " + String.format("%.2f", right) + 
-                                 ", шаг = " + String.format("%.4f", step) + 
-                                 ", интеграл = " + String.format("%.6f", result));
+                // Передаём результат приёмнику
+                sink.accept(result);
                 dataProcessed.release();
                 
             }
         } catch (InterruptedException e) {
             System.out.println("Поток интегратора Integrator прерван");
-        } catch (Exception e) {
-            System.out.println("Ошибка интегрирования: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Отказ самого приёмника (например, он закрыт) сообщается напрямую, не через него
+            System.err.println("Ошибка приёмника результатов: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package threads;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Приёмник без вывода: только счётчики. Для замеров, где вывод не должен влиять на время
+public class MetricsResultSink implements ResultSink {
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final DoubleAdder valueSum = new DoubleAdder();
+    
+    @Override
+    public void accept(TaskResult result) {
+        if (result.isSuccess()) {
+            succeeded.increment();
+            valueSum.add(result.getValue());
+        } else {
+            failed.increment();
+        }
+    }
+    
+    @Override
+    public void submitted(IntegrationTask task) {
+        submitted.increment();
+    }
+    
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+    
+    public long getSuccessCount() {
+        return succeeded.sum();
+    }
+    
+    public long getFailureCount() {
+        return failed.sum();
+    }
+    
+    // Сумма значений успешных результатов (чтобы вычисления не были отброшены JIT)
+    public double getValueSum() {
+        return valueSum.sum();
+    }
+}
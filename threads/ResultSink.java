@@ -0,0 +1,13 @@
+package threads;
+
+// Приёмник результатов интегрирования. Вызывается одновременно из нескольких рабочих потоков
+public interface ResultSink extends AutoCloseable {
+    void accept(TaskResult result);
+    
+    // Задание создано генератором (до его выполнения)
+    default void submitted(IntegrationTask task) {}
+    
+    // Освобождение ресурсов после выдачи последнего результата
+    @Override
+    default void close() {}
+}
@@ -6,9 +6,16 @@ import functions.basic.Log;
 // Простой генератор заданий, реализующий интерфейс Runnable
 public class SimpleGenerator implements Runnable {
     private final Task task;
+    private final ResultSink sink;
     
     public SimpleGenerator(Task task) {
+        this(task, new ConsoleResultSink());
+    }
+    
+    // Сообщения о созданных заданиях передаются в sink
+    public SimpleGenerator(Task task, ResultSink sink) {
         this.task = task;
+        this.sink = sink;
     }
     
     @Override
@@ -31,12 +38,9 @@ public class SimpleGenerator implements Runnable {
                     task.setLeft(left);
                     task.setRight(right);
                     task.setStep(step);
-                    // Выводим сообщение о созданном задании с комментариями
-                    System.out.println("Создано задание: левая граница = " + String.format("%.2f", left) + 
-                                     ", правая граница = " + String.format("%.2f", right) + 
-                                     ", шаг = " + String.format("%.4f", step) + 
-                                     "   [Основание логарифма: " + String.format("%.2f", base) + "]");
                 }
+                // Сообщение о созданном задании выводится вне монитора task
+                sink.submitted(new IntegrationTask(logFunc, left, right, step));
                 Thread.sleep(2);
             }
         } catch (InterruptedException e) {
@@ -6,9 +6,16 @@ import functions.Functions;
 // Простой интегратор, реализующий интерфейс Runnable
 public class SimpleIntegrator implements Runnable {
     private final Task task;
+    private final ResultSink sink;
     
     public SimpleIntegrator(Task task) {
+        this(task, new ConsoleResultSink());
+    }
+    
+    // Результаты передаются в sink
+    public SimpleIntegrator(Task task, ResultSink sink) {
         this.task = task;
+        this.sink = sink;
     }
     
     @Override
@@ -16,6 +23,7 @@ public class SimpleIntegrator implements Runnable {
         try {
             // Обработка заданий в цикле
             for (int i = 0; i < task.getTasksCount(); i++) {
+                TaskResult result;
 
                 synchronized (task) {
                     while(!task.taskReady()){
@@ -30,17 +38,15 @@ public class SimpleIntegrator implements Runnable {
                     double step = task.getStep();
                     
                     // Вычисляем интеграл
-                    double result = Functions.integrate(func, left, right, step);
-                    
-                    // Выводим результат с комментариями
-                    System.out.println("Результат интегрирования: левая граница = " + String.format("%.2f", left) + 
-                                     ", правая граница = " + String.format("%.2f", right) + 
-                                     ", шаг = " + String.format("%.4f", step) + 
-                                     ", интеграл = " + String.format("%.6f", result));
+                    double value = Functions.integrate(func, left, right, step);
+                    result = TaskResult.success(new IntegrationTask(func, left, right, step), value);
                     
                     // Помечаем задание как выполненное
                     task.resetTask();
                 }
+                
+                // Вывод вне монитора task, чтобы не задерживать генератор
+                sink.accept(result);
             }
         } catch (InterruptedException e) {
             System.out.println("Ошибка интегрирования: " + e.getMessage());
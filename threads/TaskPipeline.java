@@ -0,0 +1,187 @@
+package threads;
+
+import functions.Functions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Конвейер производитель/потребитель: ограниченная очередь неизменяемых заданий,
+// несколько потоков-интеграторов и общий приёмник результатов.
+// Завершение работы: shutdown() перестаёт принимать задания и дожидается, пока
+// рабочие потоки выполнят всё, что уже находится в очереди; shutdownNow()
+// прерывает потоки и возвращает невыполненные задания
+public class TaskPipeline {
+    // Маркер завершения: получив его, рабочий поток выходит из цикла
+    private static final IntegrationTask POISON = new IntegrationTask(null, 0, 0, 0);
+
+    private final BlockingQueue<IntegrationTask> queue;
+    private final BackpressurePolicy policy;
+    private final ResultSink sink;
+    private final Thread[] workers;
+
+    // Чтение - отправка заданий (параллельно), запись - закрытие конвейера
+    private final ReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong sinkFailures = new AtomicLong();
+
+    public TaskPipeline(int workersCount, int queueCapacity, BackpressurePolicy policy, ResultSink sink) {
+        if (workersCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Число потоков и размер очереди должны быть положительными");
+        }
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.policy = policy;
+        this.sink = sink;
+        this.workers = new Thread[workersCount];
+
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Thread(this::work, "integrator-" + i);
+            workers[i].start();
+        }
+    }
+
+    // Отправка задания. Возвращает false, если задание отклонено (политика REJECT)
+    public boolean submit(IntegrationTask task) throws InterruptedException {
+        submitLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Конвейер остановлен");
+            }
+
+            switch (policy) {
+                case BLOCK:
+                    queue.put(task);
+                    return true;
+                case REJECT:
+                    if (queue.offer(task)) {
+                        return true;
+                    }
+                    rejected.incrementAndGet();
+                    return false;
+                default:
+                    if (!queue.offer(task)) {
+                        process(task);
+                    }
+                    return true;
+            }
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    // Плавная остановка: новые задания не принимаются, уже поставленные будут выполнены
+    public void shutdown() throws InterruptedException {
+        submitLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+
+        // Маркеры встают в очередь после всех заданий, по одному на живой рабочий поток:
+        // маркер для завершившегося потока никто не заберёт, и put мог бы ждать вечно
+        for (Thread worker : workers) {
+            if (worker.isAlive()) {
+                queue.put(POISON);
+            }
+        }
+    }
+
+    // Немедленная остановка: рабочие потоки прерываются, невыполненные задания возвращаются
+    public List<IntegrationTask> shutdownNow() {
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+
+        // Производитель может ждать места в очереди под readLock: очередь освобождается,
+        // пока он не допишет задание и не отпустит блокировку. Задания, дописанные после
+        // первой выборки, забираются повторно, поэтому ни одно не теряется
+        List<IntegrationTask> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        while (!submitLock.writeLock().tryLock()) {
+            queue.drainTo(pending);
+            LockSupport.parkNanos(100_000);
+        }
+        try {
+            queue.drainTo(pending);
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        pending.removeIf(task -> task == POISON);
+        return pending;
+    }
+
+    // Ожидание завершения всех рабочих потоков; false, если время истекло
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    // Число результатов, на которых приёмник бросил исключение
+    public long getSinkFailureCount() {
+        return sinkFailures.get();
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                IntegrationTask task = queue.take();
+                if (task == POISON) {
+                    return;
+                }
+                process(task);
+            }
+        } catch (InterruptedException e) {
+            // Остановка через shutdownNow()
+        }
+    }
+
+    private void process(IntegrationTask task) {
+        TaskResult result;
+        try {
+            double value = Functions.integrate(task.getFunction(), task.getLeft(), task.getRight(), task.getStep());
+            result = TaskResult.success(task, value);
+        } catch (Exception e) {
+            result = TaskResult.failure(task, e.getMessage());
+        }
+        completed.incrementAndGet();
+
+        // Ошибка приёмника не должна завершать рабочий поток: иначе shutdown() ждал бы его
+        try {
+            sink.accept(result);
+        } catch (RuntimeException e) {
+            sinkFailures.incrementAndGet();
+            System.err.println("Ошибка приёмника результатов: " + e.getMessage());
+        }
+    }
+}
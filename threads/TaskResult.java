@@ -0,0 +1,39 @@
+package threads;
+
+// Результат выполнения задания: значение интеграла или сообщение об ошибке
+public final class TaskResult {
+    private final IntegrationTask task;
+    private final double value;
+    private final String error;
+    
+    private TaskResult(IntegrationTask task, double value, String error) {
+        this.task = task;
+        this.value = value;
+        this.error = error;
+    }
+    
+    public static TaskResult success(IntegrationTask task, double value) {
+        return new TaskResult(task, value, null);
+    }
+    
+    public static TaskResult failure(IntegrationTask task, String error) {
+        return new TaskResult(task, Double.NaN, error);
+    }
+    
+    public IntegrationTask getTask() {
+        return task;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    // Сообщение об ошибке или null, если задание выполнено успешно
+    public String getError() {
+        return error;
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+}